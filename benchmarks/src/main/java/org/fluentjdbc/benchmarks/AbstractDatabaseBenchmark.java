@@ -0,0 +1,85 @@
+package org.fluentjdbc.benchmarks;
+
+import org.fluentjdbc.DbContext;
+import org.fluentjdbc.DbContextConnection;
+import org.fluentjdbc.DbContextTable;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Opens one in-memory database per benchmark thread and creates the benchmark tables. The
+ * {@link DbContext} holds on to the same connection for the whole trial, as an in-memory
+ * SQLite database only lives as long as its connection.
+ */
+@State(Scope.Thread)
+public abstract class AbstractDatabaseBenchmark {
+
+    @Param({"h2", "sqlite"})
+    public String database;
+
+    protected DbContext dbContext;
+    protected DbContextTable persons;
+    protected DbContextTable organizations;
+    protected DbContextTable memberships;
+
+    private Connection connection;
+    private DbContextConnection contextConnection;
+
+    @Setup(Level.Trial)
+    public void openDatabase() throws SQLException {
+        connection = DriverManager.getConnection(getJdbcUrl());
+        dbContext = new DbContext();
+        contextConnection = dbContext.startConnection(() -> connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("create table benchmark_persons (id " + getIdentityType() + ", code integer not null, name varchar(100))");
+            statement.executeUpdate("create table benchmark_organizations (id " + getIdentityType() + ", name varchar(100) not null)");
+            statement.executeUpdate("create table benchmark_memberships (id " + getIdentityType() + ", person_id integer not null, organization_id integer not null)");
+        }
+        persons = dbContext.table("benchmark_persons");
+        organizations = dbContext.table("benchmark_organizations");
+        memberships = dbContext.table("benchmark_memberships");
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDatabase() throws SQLException {
+        contextConnection.close();
+        connection.close();
+    }
+
+    /**
+     * Inserts the rows that the benchmarks expect to be present
+     */
+    protected abstract void seed();
+
+    protected void insertPersons(int count) {
+        persons.bulkInsert(Person.create(count))
+                .setField("code", p -> p.code)
+                .setField("name", p -> p.name)
+                .execute();
+    }
+
+    private String getJdbcUrl() {
+        switch (database) {
+            case "h2":
+                return "jdbc:h2:mem:" + getClass().getSimpleName() + "_" + Thread.currentThread().getId();
+            case "sqlite":
+                return "jdbc:sqlite::memory:";
+            default:
+                throw new IllegalArgumentException("Unknown database " + database);
+        }
+    }
+
+    private String getIdentityType() {
+        return database.equals("sqlite") ? "integer primary key autoincrement" : "integer auto_increment primary key";
+    }
+}
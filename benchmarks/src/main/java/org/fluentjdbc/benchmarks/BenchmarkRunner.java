@@ -0,0 +1,38 @@
+package org.fluentjdbc.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks with the JMH command line options and archives the results as JSON in
+ * <code>results/jmh-&lt;timestamp&gt;.json</code> (or the directory of the system property
+ * <code>fluentjdbc.benchmark.results</code>) for comparison between versions
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+        Path resultDirectory = Paths.get(System.getProperty("fluentjdbc.benchmark.results", "results"));
+        Files.createDirectories(resultDirectory);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultDirectory.resolve("jmh-" + timestamp + ".json").toString())
+                .build();
+        new Runner(options).run();
+    }
+}
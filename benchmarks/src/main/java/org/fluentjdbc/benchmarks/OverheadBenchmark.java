@@ -0,0 +1,142 @@
+package org.fluentjdbc.benchmarks;
+
+import org.fluentjdbc.DatabaseSaveResult;
+import org.fluentjdbc.DbContext;
+import org.fluentjdbc.DbContextConnection;
+import org.fluentjdbc.DbContextTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call cost of fluent-jdbc (building SQL, binding parameters, column index maps,
+ * reporting and mapping) against {@link StubJdbc}, which does no database work. The <code>raw</code>
+ * benchmarks make the same JDBC calls directly and show the cost of the stub itself, which should be
+ * subtracted. Run with <code>-prof gc</code> to see the allocations per operation:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar OverheadBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverheadBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int rows;
+
+    private Connection connection;
+    private DbContextConnection contextConnection;
+    private DbContextTable persons;
+    private List<Person> newPersons;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Object[][] values = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            values[i] = new Object[]{(long) i + 1, i, "Person " + i};
+        }
+        connection = new StubJdbc("benchmark_persons", new String[]{"id", "code", "name"}, values).connection();
+        DbContext dbContext = new DbContext();
+        contextConnection = dbContext.startConnection(() -> connection);
+        persons = dbContext.table("benchmark_persons");
+        newPersons = Person.create(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contextConnection.close();
+    }
+
+    @Benchmark
+    public List<Person> queryList() {
+        return persons.where("code", 1).where("name", "Person 1").list(Person::new);
+    }
+
+    @Benchmark
+    public List<Person> rawQueryList() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select * from benchmark_persons where code = ? and name = ?")) {
+            statement.setObject(1, 1);
+            statement.setObject(2, "Person 1");
+            try (ResultSet rs = statement.executeQuery()) {
+                List<Person> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(new Person(rs.getLong("id"), rs.getInt("code"), rs.getString("name")));
+                }
+                return result;
+            }
+        }
+    }
+
+    @Benchmark
+    public int bulkInsert() {
+        return persons.bulkInsert(newPersons)
+                .setField("code", p -> p.code)
+                .setField("name", p -> p.name)
+                .execute();
+    }
+
+    @Benchmark
+    public int[] rawBulkInsert() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("insert into benchmark_persons (code, name) values (?, ?)")) {
+            for (Person person : newPersons) {
+                statement.setObject(1, person.code);
+                statement.setObject(2, person.name);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        }
+    }
+
+    @Benchmark
+    public DatabaseSaveResult<Long> saveBuilder(SingleRow singleRow) {
+        return singleRow.persons.newSaveBuilder("id", 1L)
+                .setField("code", 0)
+                .setField("name", "Person 0 updated")
+                .execute();
+    }
+
+    /**
+     * The save builder reads the existing row first, which must be a single row
+     */
+    @State(Scope.Thread)
+    public static class SingleRow {
+        private DbContextConnection contextConnection;
+        private DbContextTable persons;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            Connection connection = new StubJdbc("benchmark_persons", new String[]{"id", "code", "name"}, new Object[][]{{1L, 0, "Person 0"}}).connection();
+            DbContext dbContext = new DbContext();
+            contextConnection = dbContext.startConnection(() -> connection);
+            persons = dbContext.table("benchmark_persons");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            contextConnection.close();
+        }
+    }
+}
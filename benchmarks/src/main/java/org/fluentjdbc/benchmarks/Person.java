@@ -0,0 +1,34 @@
+package org.fluentjdbc.benchmarks;
+
+import org.fluentjdbc.DatabaseRow;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The entity read and written by the benchmarks
+ */
+public class Person {
+    final Long id;
+    final int code;
+    final String name;
+
+    Person(Long id, int code, String name) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+    }
+
+    Person(DatabaseRow row) throws SQLException {
+        this(row.getLong("id"), row.getInt("code"), row.getString("name"));
+    }
+
+    static List<Person> create(int count) {
+        List<Person> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(new Person(null, i, "Person " + i));
+        }
+        return result;
+    }
+}
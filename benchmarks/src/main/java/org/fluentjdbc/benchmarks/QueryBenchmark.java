@@ -0,0 +1,68 @@
+package org.fluentjdbc.benchmarks;
+
+import org.fluentjdbc.DbContextTableAlias;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading: a lookup by primary key, mapping a list of N rows and mapping
+ * N rows of a three-table join with {@link org.fluentjdbc.DatabaseRow#table(DbContextTableAlias)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark extends AbstractDatabaseBenchmark {
+
+    private static final int ORGANIZATION_COUNT = 10;
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private long nextId = 0;
+
+    @Override
+    protected void seed() {
+        insertPersons(rows);
+        for (int i = 0; i < ORGANIZATION_COUNT; i++) {
+            organizations.insert().setField("name", "Organization " + i).execute();
+        }
+        memberships.bulkInsert(persons.query().list(row -> row.getLong("id")))
+                .setField("person_id", id -> id)
+                .setField("organization_id", id -> id % ORGANIZATION_COUNT + 1)
+                .execute();
+    }
+
+    @Benchmark
+    public Optional<Person> pointLookup() {
+        nextId = nextId % rows + 1;
+        return persons.where("id", nextId).singleObject(Person::new);
+    }
+
+    @Benchmark
+    public List<Person> listRows() {
+        return persons.whereExpression("id <= ?", rows).list(Person::new);
+    }
+
+    @Benchmark
+    public List<String> joinedRows() {
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+        return m.join(m.column("person_id"), p.column("id"))
+                .join(m.column("organization_id"), o.column("id"))
+                .whereExpression("p.id <= ?", rows)
+                .list(row -> row.table(p).getString("name") + "@" + row.table(o).getString("name"));
+    }
+}
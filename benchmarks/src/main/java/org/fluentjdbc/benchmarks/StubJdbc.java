@@ -0,0 +1,182 @@
+package org.fluentjdbc.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * An in-process JDBC {@link Connection} which does no work: statements ignore their parameters,
+ * every query returns the same preloaded rows and updates return a fixed count. Used by
+ * {@link OverheadBenchmark} to measure the cost of fluent-jdbc itself without the cost of a database.
+ *
+ * <p>The stubs are {@link Proxy} instances, so each JDBC call has a small fixed cost of its own.
+ * {@link OverheadBenchmark} measures the same JDBC calls without fluent-jdbc as a baseline.</p>
+ */
+public class StubJdbc {
+
+    private final String tableName;
+    private final String[] columnNames;
+    private final Object[][] rows;
+
+    /**
+     * @param tableName the table name reported by {@link ResultSetMetaData#getTableName(int)}
+     * @param columnNames the columns of every result
+     * @param rows the values of every result, one array per row in the order of columnNames
+     */
+    public StubJdbc(String tableName, String[] columnNames, Object[][] rows) {
+        this.tableName = tableName;
+        this.columnNames = columnNames;
+        this.rows = rows;
+    }
+
+    public Connection connection() {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "createStatement":
+                    return statement(proxy);
+                case "getMetaData":
+                    return proxy(DatabaseMetaData.class, (p, m, a) ->
+                            m.getName().equals("getDatabaseProductName") ? "Stub" : defaultValue(m));
+                case "getAutoCommit":
+                    return true;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private PreparedStatement statement(Object connection) {
+        int[] batchSize = {0};
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                case "getResultSet":
+                    return resultSet(proxy, tableName, columnNames, rows);
+                case "executeUpdate":
+                case "getUpdateCount":
+                    return 1;
+                case "addBatch":
+                    batchSize[0]++;
+                    return null;
+                case "executeBatch":
+                    int[] counts = new int[batchSize[0]];
+                    Arrays.fill(counts, 1);
+                    batchSize[0] = 0;
+                    return counts;
+                case "getGeneratedKeys":
+                    return resultSet(proxy, tableName, new String[]{"id"}, new Object[][]{{1L}});
+                case "getConnection":
+                    return connection;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static ResultSet resultSet(Object statement, String tableName, String[] columnNames, Object[][] rows) {
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        ResultSetMetaData metaData = metaData(tableName, columnNames, rows);
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++cursor[0] < rows.length;
+                case "getMetaData":
+                    return metaData;
+                case "getStatement":
+                    return statement;
+                case "wasNull":
+                    return wasNull[0];
+                case "findColumn":
+                    return columnIndex(columnNames, (String) args[0]);
+                default:
+                    if (method.getName().startsWith("get") && args != null && args.length == 1) {
+                        int index = args[0] instanceof String ? columnIndex(columnNames, (String) args[0]) : (Integer) args[0];
+                        Object value = rows[cursor[0]][index - 1];
+                        wasNull[0] = value == null;
+                        return convert(value, method.getReturnType());
+                    }
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static ResultSetMetaData metaData(String tableName, String[] columnNames, Object[][] rows) {
+        return proxy(ResultSetMetaData.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return columnNames.length;
+                case "getColumnName":
+                case "getColumnLabel":
+                    return columnNames[(Integer) args[0] - 1];
+                case "getTableName":
+                    return tableName;
+                case "getColumnType":
+                    return rows.length > 0 && rows[0][(Integer) args[0] - 1] instanceof Number ? Types.BIGINT : Types.VARCHAR;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static int columnIndex(String[] columnNames, String column) {
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equalsIgnoreCase(column)) {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column " + column);
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return value != null ? value : defaultValue(type);
+        } else if (type == String.class) {
+            return value.toString();
+        } else if (type == long.class) {
+            return ((Number) value).longValue();
+        } else if (type == int.class) {
+            return ((Number) value).intValue();
+        } else if (type == double.class) {
+            return ((Number) value).doubleValue();
+        } else if (type == boolean.class) {
+            return value instanceof Boolean ? value : ((Number) value).intValue() != 0;
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Method method) {
+        return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == double.class) {
+            return 0.0;
+        } else if (type == float.class) {
+            return 0.0f;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        }
+        return null;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubJdbc.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,83 @@
+package org.fluentjdbc.benchmarks;
+
+import org.fluentjdbc.DatabaseSaveResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing: bulk insert of N rows, a save builder round trip which reads and updates
+ * one row and synchronizing N entities where half of them have changed
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark extends AbstractDatabaseBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private List<Person> newPersons;
+    private long counter = 0;
+
+    @Override
+    protected void seed() {
+        insertPersons(rows);
+        newPersons = Person.create(rows);
+    }
+
+    /**
+     * Removes the rows inserted by {@link #bulkInsert()} so the table doesn't grow between iterations
+     */
+    @Setup(Level.Iteration)
+    public void removeInserted() {
+        persons.whereExpression("id > ?", rows).executeDelete();
+    }
+
+    @Benchmark
+    public int bulkInsert() {
+        return persons.bulkInsert(newPersons)
+                .setField("code", p -> p.code)
+                .setField("name", p -> p.name)
+                .execute();
+    }
+
+    @Benchmark
+    public DatabaseSaveResult<Long> saveBuilder() {
+        counter++;
+        return persons.newSaveBuilder("id", counter % rows + 1)
+                .setField("code", (int) counter)
+                .setField("name", "Person " + counter % rows)
+                .execute();
+    }
+
+    @Benchmark
+    public EnumMap<DatabaseSaveResult.SaveStatus, Integer> sync() {
+        counter++;
+        List<Person> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String name = i % 2 == 0 ? "Person " + i : "Person " + i + " v" + counter;
+            entities.add(new Person(null, i, name));
+        }
+        return persons.sync(entities)
+                .unique("code", p -> p.code)
+                .field("name", p -> p.name)
+                .updateDiffering()
+                .insertMissing()
+                .getStatus();
+    }
+}
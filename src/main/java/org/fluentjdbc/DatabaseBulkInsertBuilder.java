@@ -1,19 +1,14 @@
 package org.fluentjdbc;
 
-import org.fluentjdbc.util.ExceptionUtil;
-
 import javax.annotation.CheckReturnValue;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
-import static org.fluentjdbc.DatabaseStatement.addBatch;
-
 /**
  * Fluently generate a <code>INSERT ...</code> statement for a list of objects. Crate with a list of object
  * and use {@link #setField(String, Function)} to pass in a function that will be called for each object
@@ -62,14 +57,9 @@ public class DatabaseBulkInsertBuilder<T> implements DatabaseBulkUpdatable<T, Da
      * @return the count of rows inserted
      */
     public int execute(Connection connection) {
-        String insertStatement = table.createInsertSql(updateFields);
-        try (PreparedStatement statement = connection.prepareStatement(insertStatement)) {
-            addBatch(statement, objects, updateParameters);
-            int[] counts = statement.executeBatch();
-            return IntStream.of(counts).sum();
-        } catch (SQLException e) {
-            throw ExceptionUtil.softenCheckedException(e);
-        }
+        int[] counts = table.newStatement("BULK_INSERT", table.createInsertSql(updateFields), new ArrayList<>())
+                .executeBatch(connection, objects, updateParameters);
+        return IntStream.of(counts).sum();
     }
 
     /**
@@ -1,21 +1,16 @@
 package org.fluentjdbc;
 
-import org.fluentjdbc.util.ExceptionUtil;
-
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static org.fluentjdbc.DatabaseStatement.addBatch;
-
 /**
  * Fluently generate a <code>UPDATE ...</code> statement for a list of objects. Create with a list of object
  * and use {@link #setField(String, Function)} to pass in a function that will be called for each object
@@ -84,16 +79,12 @@ public class DatabaseBulkUpdateBuilder<T> implements
      * @return the sum count of all the rows updated
      */
     public int execute(Connection connection) {
-        try (PreparedStatement statement = connection.prepareStatement(createUpdateStatement())) {
-            List<Function<T, ?>> parameters = new ArrayList<>();
-            parameters.addAll(updateParameters);
-            parameters.addAll(whereParameters);
-            addBatch(statement, objects, parameters);
-            int[] counts = statement.executeBatch();
-            return IntStream.of(counts).sum();
-        } catch (SQLException e) {
-            throw ExceptionUtil.softenCheckedException(e);
-        }
+        List<Function<T, ?>> parameters = new ArrayList<>();
+        parameters.addAll(updateParameters);
+        parameters.addAll(whereParameters);
+        int[] counts = table.newStatement("BULK_UPDATE", createUpdateStatement(), new ArrayList<>())
+                .executeBatch(connection, objects, parameters);
+        return IntStream.of(counts).sum();
     }
 
     @Nonnull
@@ -0,0 +1,328 @@
+package org.fluentjdbc;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of a query stored column by column in primitive arrays instead of as one object per row,
+ * for reporting and analytics queries over many rows. Created by {@link DbContextListableSelect#toColumns()}.
+ * The type of each column is decided from {@link ResultSetMetaData#getColumnType(int)}:
+ *
+ * <ul>
+ *     <li>Integer types, booleans (as 0 and 1) and <code>NUMERIC</code> with scale 0: {@link #getLongs(String)}</li>
+ *     <li>Other numeric types: {@link #getDoubles(String)}</li>
+ *     <li><code>DATE</code> and <code>TIMESTAMP</code>: {@link #getLongs(String)} as milliseconds since the epoch</li>
+ *     <li>All other types: dictionary encoded strings with {@link #getCodes(String)} indexing into
+ *     {@link #getDictionary(String)}, or {@link #getString(String, int)}</li>
+ * </ul>
+ *
+ * Null values are stored as 0 (or code -1 for strings) and are recorded in {@link #getNulls(String)}.
+ * Example:
+ *
+ * <pre>
+ * DatabaseColumns columns = orders.where("year", year).toColumns();
+ * double total = Arrays.stream(columns.getDoubles("amount")).sum();
+ * </pre>
+ */
+@CheckReturnValue
+public class DatabaseColumns {
+
+    private final int rowCount;
+    private final Map<String, Column> columns;
+
+    private DatabaseColumns(int rowCount, Map<String, Column> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the names of the columns in the order of the query. Empty if the query returned no rows
+     */
+    public List<String> getColumnNames() {
+        return new ArrayList<>(columns.keySet());
+    }
+
+    /**
+     * Returns the values of an integer, boolean, date or timestamp column
+     *
+     * @throws IllegalArgumentException if the column is not stored as long values
+     */
+    public long[] getLongs(String column) {
+        if (rowCount == 0) {
+            return new long[0];
+        }
+        Column values = getColumn(column);
+        if (!(values instanceof LongColumn)) {
+            throw new IllegalArgumentException("Column " + column + " is not an integer, date or timestamp column");
+        }
+        return ((LongColumn) values).values;
+    }
+
+    /**
+     * Returns the values of a numeric column. Integer columns are converted to a new double array
+     *
+     * @throws IllegalArgumentException if the column is not numeric
+     */
+    public double[] getDoubles(String column) {
+        if (rowCount == 0) {
+            return new double[0];
+        }
+        Column values = getColumn(column);
+        if (values instanceof DoubleColumn) {
+            return ((DoubleColumn) values).values;
+        } else if (values instanceof LongColumn) {
+            return Arrays.stream(((LongColumn) values).values).asDoubleStream().toArray();
+        }
+        throw new IllegalArgumentException("Column " + column + " is not numeric");
+    }
+
+    /**
+     * Returns the index into {@link #getDictionary(String)} of the value of a string column for each row,
+     * or -1 for null
+     *
+     * @throws IllegalArgumentException if the column is not stored as strings
+     */
+    public int[] getCodes(String column) {
+        if (rowCount == 0) {
+            return new int[0];
+        }
+        return getStringColumn(column).codes;
+    }
+
+    /**
+     * Returns the distinct values of a string column in the order they first occurred
+     *
+     * @throws IllegalArgumentException if the column is not stored as strings
+     */
+    public String[] getDictionary(String column) {
+        if (rowCount == 0) {
+            return new String[0];
+        }
+        return getStringColumn(column).dictionary.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the value of a string column for the specified row
+     *
+     * @throws IllegalArgumentException if the column is not stored as strings
+     */
+    @Nullable
+    public String getString(String column, int row) {
+        StringColumn values = getStringColumn(column);
+        int code = values.codes[row];
+        return code >= 0 ? values.dictionary.get(code) : null;
+    }
+
+    /**
+     * Returns true if the specified column was null in the specified row
+     */
+    public boolean isNull(String column, int row) {
+        return getColumn(column).nulls.get(row);
+    }
+
+    /**
+     * Returns a copy of the set of rows where the specified column was null
+     */
+    public BitSet getNulls(String column) {
+        if (rowCount == 0) {
+            return new BitSet();
+        }
+        return (BitSet) getColumn(column).nulls.clone();
+    }
+
+    private StringColumn getStringColumn(String column) {
+        Column values = getColumn(column);
+        if (!(values instanceof StringColumn)) {
+            throw new IllegalArgumentException("Column " + column + " is not a string column");
+        }
+        return (StringColumn) values;
+    }
+
+    private Column getColumn(String column) {
+        Column values = columns.get(column.toUpperCase());
+        if (values == null) {
+            throw new IllegalArgumentException("Column {" + column + "} is not present in " + columns.keySet());
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{rows=" + rowCount + ", columns=" + columns.keySet() + "}";
+    }
+
+    /**
+     * Reads each row into the columns, growing the arrays from the fetch size of the {@link ResultSet}
+     */
+    static class Reader implements DatabaseResult.RowConsumer {
+        private static final int DEFAULT_CAPACITY = 1024;
+
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+        private final List<Column> columnsByIndex = new ArrayList<>();
+        private int capacity;
+        private int rowCount = 0;
+
+        @Override
+        public void apply(DatabaseRow row) throws SQLException {
+            ResultSet rs = row.rs;
+            if (rowCount == 0) {
+                initialize(rs);
+            }
+            if (rowCount == capacity) {
+                capacity *= 2;
+                for (Column column : columnsByIndex) {
+                    column.resize(capacity);
+                }
+            }
+            for (int i = 0; i < columnsByIndex.size(); i++) {
+                columnsByIndex.get(i).read(rs, i + 1, rowCount);
+            }
+            rowCount++;
+        }
+
+        private void initialize(ResultSet rs) throws SQLException {
+            capacity = rs.getFetchSize() > 0 ? rs.getFetchSize() : DEFAULT_CAPACITY;
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                Column column = createColumn(metaData, i);
+                column.resize(capacity);
+                columnsByIndex.add(column);
+                columns.putIfAbsent(metaData.getColumnLabel(i).toUpperCase(), column);
+            }
+        }
+
+        private static Column createColumn(ResultSetMetaData metaData, int index) throws SQLException {
+            switch (metaData.getColumnType(index)) {
+                case Types.BIGINT:
+                case Types.INTEGER:
+                case Types.SMALLINT:
+                case Types.TINYINT:
+                case Types.BOOLEAN:
+                case Types.BIT:
+                    return new LongColumn(false);
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                    int precision = metaData.getPrecision(index);
+                    return metaData.getScale(index) == 0 && precision > 0 && precision <= 18 ? new LongColumn(false) : new DoubleColumn();
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return new DoubleColumn();
+                case Types.DATE:
+                case Types.TIMESTAMP:
+                case Types.TIMESTAMP_WITH_TIMEZONE:
+                    return new LongColumn(true);
+                default:
+                    return new StringColumn();
+            }
+        }
+
+        DatabaseColumns build() {
+            for (Column column : columnsByIndex) {
+                column.resize(rowCount);
+            }
+            return new DatabaseColumns(rowCount, Collections.unmodifiableMap(columns));
+        }
+    }
+
+    private abstract static class Column {
+        final BitSet nulls = new BitSet();
+
+        abstract void read(ResultSet rs, int index, int row) throws SQLException;
+
+        abstract void resize(int capacity);
+    }
+
+    private static class LongColumn extends Column {
+        private final boolean timestamp;
+        long[] values = new long[0];
+
+        LongColumn(boolean timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            if (timestamp) {
+                Timestamp value = rs.getTimestamp(index);
+                if (value != null) {
+                    values[row] = value.getTime();
+                } else {
+                    nulls.set(row);
+                }
+            } else {
+                values[row] = rs.getLong(index);
+                if (rs.wasNull()) {
+                    nulls.set(row);
+                }
+            }
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        double[] values = new double[0];
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            values[row] = rs.getDouble(index);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static class StringColumn extends Column {
+        final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+        int[] codes = new int[0];
+
+        @Override
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            String value = rs.getString(index);
+            if (value == null) {
+                codes[row] = -1;
+                nulls.set(row);
+                return;
+            }
+            Integer code = codesByValue.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codesByValue.put(value, code);
+            }
+            codes[row] = code;
+        }
+
+        @Override
+        void resize(int capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+    }
+}
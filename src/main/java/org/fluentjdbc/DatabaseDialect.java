@@ -0,0 +1,205 @@
+package org.fluentjdbc;
+
+import org.fluentjdbc.util.ExceptionUtil;
+
+import javax.annotation.CheckReturnValue;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.IntSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The SQL variations between databases which are needed when generating queries, such as
+ * how to skip rows and limit the number of rows returned. The dialect is identified from
+ * {@link java.sql.DatabaseMetaData#getDatabaseProductName()}. Databases which are not
+ * recognized use {@link #STANDARD} SQL:2008 syntax.
+ */
+enum DatabaseDialect {
+    STANDARD,
+    POSTGRESQL {
+        @Override
+        String existsQuery(String fromClause) {
+            return limitOneQuery(fromClause);
+        }
+
+        @Override
+        String paginationClause(int offset, int rowCount, boolean ordered, List<Object> parameters) {
+            return limitOffsetClause(offset, rowCount, parameters);
+        }
+
+        @Override
+        OptionalLong estimateRowCount(Connection connection, String sql, List<Object> parameters) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                DatabaseStatement.bindParameters(statement, parameters);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        Matcher matcher = POSTGRESQL_PLAN_ROWS.matcher(resultSet.getString(1));
+                        if (matcher.find()) {
+                            return OptionalLong.of(Long.parseLong(matcher.group(1)));
+                        }
+                    }
+                }
+            }
+            return OptionalLong.empty();
+        }
+    },
+    MYSQL {
+        @Override
+        String existsQuery(String fromClause) {
+            return limitOneQuery(fromClause);
+        }
+
+        @Override
+        String paginationClause(int offset, int rowCount, boolean ordered, List<Object> parameters) {
+            return limitOffsetClause(offset, rowCount, parameters);
+        }
+
+        @Override
+        OptionalLong estimateRowCount(Connection connection, String sql, List<Object> parameters) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                DatabaseStatement.bindParameters(statement, parameters);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        long rows = resultSet.getLong("rows");
+                        if (!resultSet.wasNull() && !resultSet.next()) {
+                            return OptionalLong.of(rows);
+                        }
+                    }
+                }
+            }
+            return OptionalLong.empty();
+        }
+    },
+    SQLITE {
+        @Override
+        String existsQuery(String fromClause) {
+            return limitOneQuery(fromClause);
+        }
+
+        @Override
+        String paginationClause(int offset, int rowCount, boolean ordered, List<Object> parameters) {
+            return limitOffsetClause(offset, rowCount, parameters);
+        }
+    },
+    H2 {
+        @Override
+        String existsQuery(String fromClause) {
+            return limitOneQuery(fromClause);
+        }
+    },
+    HSQLDB {
+        @Override
+        String existsQuery(String fromClause) {
+            return limitOneQuery(fromClause);
+        }
+    },
+    SQL_SERVER {
+        @Override
+        String existsQuery(String fromClause) {
+            return "select top 1 1 as found" + fromClause;
+        }
+
+        @Override
+        String paginationClause(int offset, int rowCount, boolean ordered, List<Object> parameters) {
+            parameters.add(offset);
+            parameters.add(rowCount);
+            // SQL Server only allows OFFSET after ORDER BY
+            return (ordered ? "" : " order by (select null)") + " offset ? rows fetch next ? rows only";
+        }
+    };
+
+    private static final Pattern POSTGRESQL_PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    /**
+     * Returns the dialect of the database of the connection
+     */
+    @CheckReturnValue
+    static DatabaseDialect of(Connection connection) {
+        try {
+            return fromProductName(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    @CheckReturnValue
+    static DatabaseDialect fromProductName(String productName) {
+        switch (productName) {
+            case "PostgreSQL":
+                return POSTGRESQL;
+            case "MySQL":
+            case "MariaDB":
+                return MYSQL;
+            case "SQLite":
+                return SQLITE;
+            case "H2":
+                return H2;
+            case "HSQL Database Engine":
+                return HSQLDB;
+            case "Microsoft SQL Server":
+                return SQL_SERVER;
+            default:
+                return STANDARD;
+        }
+    }
+
+    /**
+     * Returns a query which returns one row if the fromClause (<code>FROM ... WHERE ...</code>) matches
+     * any rows and no rows otherwise, and which lets the database stop at the first matching row
+     */
+    @CheckReturnValue
+    String existsQuery(String fromClause) {
+        return "select 1 as found" + fromClause + " fetch first 1 rows only";
+    }
+
+    /**
+     * Returns the clause which skips offset rows and returns at most rowCount rows, with <code>?</code>
+     * in place of the values, and adds the values to parameters in the order they appear in the clause.
+     * As the values are not part of the SQL, the database can reuse the plan of the statement for every
+     * page. ordered is true if the statement has an <code>ORDER BY</code> clause
+     */
+    @CheckReturnValue
+    String paginationClause(int offset, int rowCount, boolean ordered, List<Object> parameters) {
+        parameters.add(offset);
+        parameters.add(rowCount);
+        return " offset ? rows fetch first ? rows only";
+    }
+
+    /**
+     * Returns the number of rows which the query planner expects the sql to return, based on the
+     * statistics of the database, or empty if the database doesn't provide an estimate
+     */
+    @CheckReturnValue
+    OptionalLong estimateRowCount(Connection connection, String sql, List<Object> parameters) throws SQLException {
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Returns the number of rows which the query planner expects the sql to return, or exactCount
+     * if the database doesn't provide an estimate
+     */
+    @CheckReturnValue
+    static long estimateCount(Connection connection, String sql, List<Object> parameters, IntSupplier exactCount) {
+        try {
+            OptionalLong estimate = of(connection).estimateRowCount(connection, sql, parameters);
+            return estimate.isPresent() ? estimate.getAsLong() : exactCount.getAsInt();
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    private static String limitOneQuery(String fromClause) {
+        return "select 1 as found" + fromClause + " limit 1";
+    }
+
+    private static String limitOffsetClause(int offset, int rowCount, List<Object> parameters) {
+        parameters.add(rowCount);
+        parameters.add(offset);
+        return " limit ? offset ?";
+    }
+}
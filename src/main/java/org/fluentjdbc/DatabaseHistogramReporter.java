@@ -0,0 +1,143 @@
+package org.fluentjdbc;
+
+import org.fluentjdbc.util.ConcurrentHistogram;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link DatabaseReporter} which records the nanosecond timing of each phase and the row count
+ * of every statement in a lock-free {@link ConcurrentHistogram} per table and operation. Use
+ * {@link #getHistograms(String, String)} to get percentiles for an operation.
+ *
+ * <p>Example:</p>
+ *
+ * <pre>
+ * DatabaseHistogramReporter reporter = new DatabaseHistogramReporter();
+ * DbContext context = new DbContext(new DatabaseStatementFactory(reporter));
+ * ...
+ * ConcurrentHistogram.Snapshot snapshot = reporter.getHistograms("persons", "SELECT").getTotal().snapshot();
+ * logger.info("p50={}ns p99={}ns p999={}ns", snapshot.getP50(), snapshot.getP99(), snapshot.getP999());
+ * </pre>
+ */
+public class DatabaseHistogramReporter implements DatabaseReporter {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, OperationHistograms>> tables = new ConcurrentHashMap<>();
+    private final int precisionBits;
+
+    public DatabaseHistogramReporter() {
+        this(7);
+    }
+
+    /**
+     * @param precisionBits the precision of each histogram
+     * @see ConcurrentHistogram#ConcurrentHistogram(int)
+     */
+    public DatabaseHistogramReporter(int precisionBits) {
+        this.precisionBits = precisionBits;
+    }
+
+    @Nonnull
+    @Override
+    public DatabaseTableReporter table(@Nonnull String tableName) {
+        ConcurrentMap<String, OperationHistograms> operations = tables.computeIfAbsent(tableName, t -> new ConcurrentHashMap<>());
+        return operation -> operations.computeIfAbsent(operation, o -> new OperationHistograms(precisionBits));
+    }
+
+    /**
+     * Returns the histograms for the specified table and operation, or null if the operation
+     * has not been executed on the table
+     */
+    @Nullable
+    @CheckReturnValue
+    public OperationHistograms getHistograms(String tableName, String operation) {
+        Map<String, OperationHistograms> operations = tables.get(tableName);
+        return operations != null ? operations.get(operation) : null;
+    }
+
+    /**
+     * Returns all histograms recorded, keyed by table name and operation
+     */
+    @CheckReturnValue
+    public Map<String, Map<String, OperationHistograms>> getAllHistograms() {
+        Map<String, Map<String, OperationHistograms>> result = new TreeMap<>();
+        tables.forEach((table, operations) -> result.put(table, Collections.unmodifiableMap(new TreeMap<>(operations))));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * The histograms for one operation on a table. All times are in nanoseconds
+     */
+    public static class OperationHistograms implements DatabaseTableOperationReporter {
+        private final ConcurrentHistogram total;
+        private final ConcurrentHistogram prepare;
+        private final ConcurrentHistogram bind;
+        private final ConcurrentHistogram execute;
+        private final ConcurrentHistogram fetch;
+        private final ConcurrentHistogram rows;
+
+        OperationHistograms(int precisionBits) {
+            total = new ConcurrentHistogram(precisionBits);
+            prepare = new ConcurrentHistogram(precisionBits);
+            bind = new ConcurrentHistogram(precisionBits);
+            execute = new ConcurrentHistogram(precisionBits);
+            fetch = new ConcurrentHistogram(precisionBits);
+            rows = new ConcurrentHistogram(precisionBits);
+        }
+
+        @Override
+        public void reportQuery(String query, long timing) {
+            total.record(timing * 1_000_000);
+        }
+
+        @Override
+        public void reportQuery(String query, DatabaseQueryTiming timing) {
+            total.record(timing.getTotalNanos());
+            prepare.record(timing.getPrepareNanos());
+            bind.record(timing.getBindNanos());
+            execute.record(timing.getExecuteNanos());
+            fetch.record(timing.getFetchNanos());
+            if (timing.getRowCount() >= 0) {
+                rows.record(timing.getRowCount());
+            }
+        }
+
+        public ConcurrentHistogram getTotal() {
+            return total;
+        }
+
+        public ConcurrentHistogram getPrepare() {
+            return prepare;
+        }
+
+        public ConcurrentHistogram getBind() {
+            return bind;
+        }
+
+        public ConcurrentHistogram getExecute() {
+            return execute;
+        }
+
+        public ConcurrentHistogram getFetch() {
+            return fetch;
+        }
+
+        /**
+         * Returns the histogram of rows read for queries or updated for updates
+         */
+        public ConcurrentHistogram getRows() {
+            return rows;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{total=" + total.snapshot() + ", rows=" + rows.snapshot() + "}";
+        }
+    }
+}
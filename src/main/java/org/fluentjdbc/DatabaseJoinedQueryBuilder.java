@@ -1,5 +1,6 @@
 package org.fluentjdbc;
 
+import org.fluentjdbc.util.ExceptionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,6 +8,7 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -15,9 +17,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,6 +61,11 @@ public class DatabaseJoinedQueryBuilder implements
         DatabaseQueryBuilder<DatabaseJoinedQueryBuilder>,
         DatabaseListableQueryBuilder<DatabaseJoinedQueryBuilder> {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseJoinedQueryBuilder.class);
+    private static final String COLUMN_LABEL_SEPARATOR = "__";
+    private static final int MAX_CACHED_LAYOUTS = 1000;
+    private static final Map<String, ColumnLayout> columnLayouts = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> tableColumns = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> primaryKeyColumns = new ConcurrentHashMap<>();
 
     private final DatabaseTable table;
     private final DatabaseTableAlias tableAlias;
@@ -63,6 +75,8 @@ public class DatabaseJoinedQueryBuilder implements
     private final List<String> orderByClauses = new ArrayList<>();
     private Integer offset;
     private Integer rowCount;
+    private boolean explicitColumns = false;
+    private final List<DatabaseColumnReference> columns = new ArrayList<>();
 
     public DatabaseJoinedQueryBuilder(DatabaseTable table, DatabaseTableAlias tableAlias) {
         this.table = table;
@@ -98,10 +112,38 @@ public class DatabaseJoinedQueryBuilder implements
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Selects every column explicitly as <code>select p.id as p__id, p.name as p__name, ...</code>
+     * instead of <code>select *</code>, so that columns are assigned to table aliases by their labels.
+     * Use this for drivers which don't report {@link ResultSetMetaData#getTableName(int)} for query results,
+     * such as SQL Server and Oracle. The columns of each table are read with {@link DatabaseMetaData#getColumns}
+     * the first time the table is queried and are cached until the JVM is restarted, so columns that are
+     * added to the table later are not included. Labels longer than the database's identifier limit are
+     * not supported
+     */
+    @CheckReturnValue
+    public DatabaseJoinedQueryBuilder explicitColumns() {
+        this.explicitColumns = true;
+        return this;
+    }
+
+    /**
+     * Selects only the specified columns as <code>select p.name as p__name, ...</code> instead of
+     * <code>select *</code>. The columns of the joins are always included, so that
+     * {@link DatabaseRow#table(DatabaseTableAlias)} can detect aliases that are missing from an outer join
+     */
+    @CheckReturnValue
+    public DatabaseJoinedQueryBuilder columns(DatabaseColumnReference... columns) {
+        this.columns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    /**
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @Override
     public DatabaseJoinedQueryBuilder skipAndLimit(int offset, int rowCount) {
@@ -110,6 +152,80 @@ public class DatabaseJoinedQueryBuilder implements
         return this;
     }
 
+    /**
+     * Adds <code>WHERE (a.column1 &gt; ? OR (a.column1 = ? AND b.column2 &gt; ?))</code> and <code>ORDER BY a.column1, b.column2</code>
+     * to the query to return the rows after the specified values. Unlike {@link #skipAndLimit(int, int)},
+     * the database can use an index on the columns to find the first row, so the cost of retrieving
+     * a page doesn't increase with the number of rows before it. The columns must be non-null and unique
+     * together.
+     *
+     * @see #pageAfter(Connection, List, String, int, DatabaseResult.RowMapper)
+     */
+    @CheckReturnValue
+    public DatabaseJoinedQueryBuilder after(List<DatabaseColumnReference> columns, List<?> values) {
+        if (!orderByClauses.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination can't be combined with orderBy " + orderByClauses);
+        }
+        if (columns.size() != values.size()) {
+            throw new IllegalArgumentException("Column and value lists must have same length: " + columns.size() + " != " + values);
+        }
+        List<String> qualifiedColumns = qualifiedColumnNames(columns);
+        orderByClauses.addAll(qualifiedColumns);
+        List<Object> parameters = new ArrayList<>();
+        return whereExpressionWithParameterList(DatabaseKeysetCursor.condition(qualifiedColumns, values, parameters), parameters);
+    }
+
+    /**
+     * Returns up to pageSize rows ordered by keyColumns, starting after the row identified by cursor,
+     * or from the first row if cursor is null. {@link DatabasePage#getNextCursor()} identifies the last
+     * row in the page and is null when there are no more rows. The keyColumns must be non-null and
+     * unique together, and should not be from a table that is left joined. The keyset conditions are
+     * applied to a copy of this query, so the query can be reused for the next page
+     *
+     * @see #after(List, List)
+     */
+    @CheckReturnValue
+    public <T> DatabasePage<T> pageAfter(Connection connection, List<DatabaseColumnReference> keyColumns, @Nullable String cursor, int pageSize, DatabaseResult.RowMapper<T> mapper) {
+        if (!orderByClauses.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination can't be combined with orderBy " + orderByClauses);
+        }
+        DatabasePage.Collector<T> collector = new DatabasePage.Collector<>(pageSize, mapper, row -> {
+            List<Object> keys = new ArrayList<>();
+            for (DatabaseColumnReference column : keyColumns) {
+                keys.add(row.table(column.getTableAlias().getAlias()).getObject(column.getColumnName()));
+            }
+            return keys;
+        });
+        DatabaseJoinedQueryBuilder page = copy();
+        if (cursor != null) {
+            //noinspection ResultOfMethodCallIgnored
+            page.after(keyColumns, DatabaseKeysetCursor.decode(cursor));
+        } else {
+            page.orderByClauses.addAll(qualifiedColumnNames(keyColumns));
+        }
+        //noinspection ResultOfMethodCallIgnored
+        page.skipAndLimit(0, pageSize + 1);
+        page.forEach(connection, collector);
+        return collector.getPage();
+    }
+
+    private DatabaseJoinedQueryBuilder copy() {
+        DatabaseJoinedQueryBuilder copy = new DatabaseJoinedQueryBuilder(table, tableAlias);
+        copy.joinedTables.addAll(joinedTables);
+        copy.conditions.addAll(conditions);
+        copy.parameters.addAll(parameters);
+        copy.orderByClauses.addAll(orderByClauses);
+        copy.offset = offset;
+        copy.rowCount = rowCount;
+        copy.explicitColumns = explicitColumns;
+        copy.columns.addAll(columns);
+        return copy;
+    }
+
+    private static List<String> qualifiedColumnNames(List<DatabaseColumnReference> columns) {
+        return columns.stream().map(DatabaseColumnReference::getQualifiedColumnName).collect(Collectors.toList());
+    }
+
     /**
      * Adds "<code>WHERE fieldName = value</code>" to the query
      */
@@ -231,6 +347,43 @@ public class DatabaseJoinedQueryBuilder implements
         return query(connection, result -> result.list(mapper));
     }
 
+    /**
+     * Executes the query and maps each distinct parent only once for a one-to-many join. The parent is
+     * identified by parentKey: the first row with a new key is mapped with parentMapper from
+     * {@link DatabaseRow#table(DatabaseTableAlias)} for the alias of parentKey, and every row,
+     * including the first, is passed to childConsumer with the mapped parent. Rows where parentKey is
+     * null are skipped. Returns the parents in the order they were first returned. Example:
+     *
+     * <pre>
+     * List&lt;Order&gt; orders = o.join(o.column("id"), l.column("order_id"))
+     *      .orderBy(o.column("id"))
+     *      .listDistinct(connection, o.column("id"), Order::new,
+     *          (order, row) -&gt; order.getLines().add(new OrderLine(row.table(l))));
+     * </pre>
+     */
+    public <T> List<T> listDistinct(
+            Connection connection,
+            DatabaseColumnReference parentKey,
+            DatabaseResult.RowMapper<T> parentMapper,
+            DatabaseResult.ChildRowConsumer<T> childConsumer
+    ) {
+        Map<Object, T> parents = new LinkedHashMap<>();
+        forEach(connection, row -> {
+            DatabaseRow parentRow = row.table(parentKey.getTableAlias());
+            Object key = parentRow != null ? parentRow.getObject(parentKey.getColumnName()) : null;
+            if (key == null) {
+                return;
+            }
+            T parent = parents.get(key);
+            if (parent == null) {
+                parent = parentMapper.mapRow(parentRow);
+                parents.put(key, parent);
+            }
+            childConsumer.apply(parent, row);
+        });
+        return new ArrayList<>(parents.values());
+    }
+
     /**
      * Executes the <code>SELECT * FROM ...</code> statement and calls back to
      * {@link DatabaseResult.RowConsumer} for each returned row
@@ -244,72 +397,277 @@ public class DatabaseJoinedQueryBuilder implements
     }
 
     /**
-     * Executes <code>SELECT count(*) FROM ...</code> on the query and returns the result
+     * Executes <code>SELECT count(*) FROM ...</code> on the query and returns the result. The count
+     * leaves out <code>ORDER BY</code> and left joins which can't change the number of rows: joins on
+     * the whole primary key of the joined table, where the joined table isn't used by the
+     * <code>WHERE</code> clause or another join
      */
     @Override
     public int getCount(Connection connection) {
-        String query = "select count(*) as count " + fromClause() + whereClause() + orderByClause();
+        String query = "select count(*) as count" + fromClause(requiredJoins(connection, true)) + whereClause();
         return table.newStatement("COUNT", query, parameters)
                 .singleObject(connection, row -> row.getInt("count"))
                 .orElseThrow(() -> new RuntimeException("Should never happen"));
     }
 
+    /**
+     * Executes <code>SELECT 1 FROM ... WHERE ...</code> limited to one row and returns true if a row was found.
+     * Left joins which aren't used by the <code>WHERE</code> clause or another join are left out
+     */
+    @Override
+    public boolean exists(Connection connection) {
+        String query = DatabaseDialect.of(connection).existsQuery(fromClause(requiredJoins(connection, false)) + whereClause());
+        return table.newStatement("EXISTS", query, parameters)
+                .singleObject(connection, row -> true)
+                .isPresent();
+    }
+
+    /**
+     * Returns the number of rows the query planner expects the query to return, from <code>EXPLAIN</code>
+     * on PostgreSQL and MySQL, or executes {@link #getCount(Connection)} on other databases
+     */
+    @Override
+    public long estimateCount(Connection connection) {
+        String query = "select *" + fromClause() + whereClause();
+        return DatabaseDialect.estimateCount(connection, query, parameters, () -> getCount(connection));
+    }
+
+    /**
+     * Returns the joins without the left joins that can be removed without changing whether a row
+     * of the initial table is included in the result. If keepRowCount is true, only left joins on the
+     * primary key of the joined table are removed, as other joins may return several rows per row
+     */
+    private List<JoinedTable> requiredJoins(Connection connection, boolean keepRowCount) {
+        List<JoinedTable> result = new ArrayList<>(joinedTables);
+        try {
+            // Joins can only depend on earlier joins, so removing from the end catches chains of unused joins
+            for (int i = result.size() - 1; i >= 0; i--) {
+                JoinedTable join = result.get(i);
+                if (join.isLeftJoin()
+                        && !isReferenced(connection, join.joinedTable, result)
+                        && (!keepRowCount || join.isOnPrimaryKey(connection))) {
+                    result.remove(i);
+                }
+            }
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if another join or any of the conditions may use the alias, either qualified as
+     * <code>alias.column</code> or as an unqualified column name of the table of the alias
+     */
+    private boolean isReferenced(Connection connection, DatabaseTableAlias alias, List<JoinedTable> joins) throws SQLException {
+        for (JoinedTable join : joins) {
+            if (join.leftTable.getAlias().equalsIgnoreCase(alias.getAlias())) {
+                return true;
+            }
+        }
+        Pattern aliasReference = Pattern.compile("\\b" + Pattern.quote(alias.getAlias()) + "\\.", Pattern.CASE_INSENSITIVE);
+        if (conditions.stream().anyMatch(condition -> aliasReference.matcher(condition).find())) {
+            return true;
+        }
+        if (conditions.isEmpty()) {
+            return false;
+        }
+        List<String> columns = readTableColumns(connection, alias.getTableName());
+        if (columns.isEmpty()) {
+            return true;
+        }
+        for (String column : columns) {
+            Pattern columnReference = Pattern.compile("(?<![.\\w])" + Pattern.quote(column) + "\\b", Pattern.CASE_INSENSITIVE);
+            if (conditions.stream().anyMatch(condition -> columnReference.matcher(condition).find())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Executes the resulting <code>SELECT * FROM table ... INNER JOIN table ...</code> statement and
      * calculates column indexes based on {@link ResultSetMetaData}
+     *
+     * @deprecated no longer called when the query is executed, as the column indexes are now reused
+     * between executions of the same SQL. Overriding this method has no effect
      */
+    @Deprecated
     @CheckReturnValue
     protected DatabaseResult createResult(@Nonnull PreparedStatement statement) throws SQLException {
-        List<DatabaseTableAlias> aliases = new ArrayList<>();
-        aliases.add(tableAlias);
-        joinedTables.stream().map(JoinedTable::getAlias).forEach(aliases::add);
-
-        Map<String, Integer> columnIndexes = new HashMap<>();
-        Map<String, Map<String, Integer>> aliasColumnIndexes = new HashMap<>();
-        aliases.forEach(t -> aliasColumnIndexes.put(t.getAlias().toUpperCase(), new HashMap<>()));
-        int index = 0;
+        ResultSet resultSet = statement.executeQuery();
+        return createResult(statement, resultSet, ColumnLayout.fromTableNames(resultSet.getMetaData(), getAliases()));
+    }
 
+    /**
+     * Executes the statement and reuses the column indexes that were calculated the last time the
+     * same SQL was executed on the same database, catalog and schema, if the result still has the
+     * same number of columns
+     */
+    @CheckReturnValue
+    private DatabaseResult createResult(@Nonnull PreparedStatement statement, String sql) throws SQLException {
+        Connection connection = statement.getConnection();
+        String cacheKey = connection.getMetaData().getURL() + "|" + connection.getCatalog() + "|" + connection.getSchema() + "|" + sql;
         ResultSet resultSet = statement.executeQuery();
-        // Unfortunately, even though the database should know the alias for the each table, JDBC doesn't reveal it
         ResultSetMetaData metaData = resultSet.getMetaData();
-        for (int i = 1; i <= metaData.getColumnCount(); i++) {
-            while (!metaData.getTableName(i).equalsIgnoreCase(aliases.get(index).getTableName())) {
-                index++;
-                if (index == aliases.size()) {
-                    throw new IllegalStateException("Failed to find table for column " + i + " (found " + aliasColumnIndexes + ") in " + aliases);
-                }
-            }
-            String alias = aliases.get(index).getAlias().toUpperCase();
-            String columnName = metaData.getColumnName(i).toUpperCase();
-            if (aliasColumnIndexes.get(alias).containsKey(columnName)) {
-                if (aliases.get(++index).getTableName().equalsIgnoreCase(metaData.getTableName(i))) {
-                    alias = aliases.get(index).getAlias().toUpperCase();
-                } else {
-                    throw new IllegalStateException("Column twice in result " + alias + "." + columnName + ": " + aliasColumnIndexes);
-                }
+        ColumnLayout layout = columnLayouts.get(cacheKey);
+        if (layout == null || layout.columnCount != metaData.getColumnCount()) {
+            layout = explicitColumns || !columns.isEmpty()
+                    ? ColumnLayout.fromColumnLabels(metaData, getAliases())
+                    : ColumnLayout.fromTableNames(metaData, getAliases());
+            if (columnLayouts.size() >= MAX_CACHED_LAYOUTS) {
+                columnLayouts.clear();
             }
-            aliasColumnIndexes.get(alias).put(columnName, i);
-            columnIndexes.putIfAbsent(columnName, i);
+            columnLayouts.put(cacheKey, layout);
         }
+        return createResult(statement, resultSet, layout);
+    }
 
+    private DatabaseResult createResult(PreparedStatement statement, ResultSet resultSet, ColumnLayout layout) {
         Map<DatabaseTableAlias, Integer> keys = new HashMap<>();
         for (JoinedTable table : joinedTables) {
             String tableAlias = table.joinedTable.getAlias().toUpperCase();
             String columnAlias = table.rightFields.get(0).toUpperCase();
-            keys.put(table.joinedTable, aliasColumnIndexes.get(tableAlias).get(columnAlias));
+            keys.put(table.joinedTable, layout.aliasColumnIndexes.get(tableAlias).get(columnAlias));
         }
-        return new DatabaseResult(statement, resultSet, columnIndexes, aliasColumnIndexes, keys);
+        return new DatabaseResult(statement, resultSet, layout.columnIndexes, layout.aliasColumnIndexes, keys);
+    }
+
+    private List<DatabaseTableAlias> getAliases() {
+        List<DatabaseTableAlias> aliases = new ArrayList<>();
+        aliases.add(tableAlias);
+        joinedTables.stream().map(JoinedTable::getAlias).forEach(aliases::add);
+        return aliases;
     }
 
+    /**
+     * Returns <code>select * from ...</code> for the query. If {@link #skipAndLimit(int, int)} has been
+     * called, the statement uses the SQL:2008 syntax with <code>?</code> in place of the offset and row count
+     */
     @CheckReturnValue
     protected String createSelectStatement() {
-        return "select *" + fromClause() + whereClause() + orderByClause() + fetchClause();
+        return createSelectStatement("*", DatabaseDialect.STANDARD, new ArrayList<>());
+    }
+
+    @CheckReturnValue
+    private String createSelectStatement(String selectList, DatabaseDialect dialect, List<Object> parameters) {
+        return "select " + selectList + fromClause() + whereClause() + orderByClause() + paginationClause(dialect, parameters);
+    }
+
+    /**
+     * Returns <code>p.id as p__id, p.name as p__name, ...</code> for all the columns of all the tables
+     * in the query, as reported by {@link DatabaseMetaData#getColumns}
+     */
+    private String explicitSelectList(Connection connection) throws SQLException {
+        List<String> selectList = new ArrayList<>();
+        for (DatabaseTableAlias alias : getAliases()) {
+            for (String column : getTableColumns(connection, alias.getTableName())) {
+                selectList.add(columnLabel(alias, column));
+            }
+        }
+        return String.join(", ", selectList);
+    }
+
+    /**
+     * Returns <code>p.name as p__name, ...</code> for the columns specified with {@link #columns} and
+     * the columns of the joins
+     */
+    private String selectedColumnList() {
+        Set<String> selectList = new LinkedHashSet<>();
+        for (DatabaseColumnReference column : columns) {
+            selectList.add(columnLabel(column.getTableAlias(), column.getColumnName()));
+        }
+        for (JoinedTable joinedTable : joinedTables) {
+            for (String column : joinedTable.rightFields) {
+                selectList.add(columnLabel(joinedTable.joinedTable, column));
+            }
+        }
+        return String.join(", ", selectList);
+    }
+
+    private static String columnLabel(DatabaseTableAlias alias, String column) {
+        return alias.getAlias() + "." + column + " as " + alias.getAlias() + COLUMN_LABEL_SEPARATOR + column;
+    }
+
+    private static List<String> getTableColumns(Connection connection, String tableName) throws SQLException {
+        List<String> columns = readTableColumns(connection, tableName);
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No columns found for table " + tableName);
+        }
+        return columns;
+    }
+
+    private static List<String> readTableColumns(Connection connection, String tableName) throws SQLException {
+        return readColumnNames(connection, tableName, tableColumns,
+                (metaData, catalog, schema, name) -> metaData.getColumns(catalog, schema, name, null));
+    }
+
+    private static List<String> getPrimaryKeyColumns(Connection connection, String tableName) throws SQLException {
+        return readColumnNames(connection, tableName, primaryKeyColumns,
+                (metaData, catalog, schema, name) -> metaData.getPrimaryKeys(catalog, schema, name));
+    }
+
+    /**
+     * Reads the COLUMN_NAME of each row returned by the metadata query for the table, trying the table name
+     * as given, in upper case and in lower case. The table is looked up in the current catalog and schema
+     * of the connection, so tables with the same name in other schemas are not mixed in, and then without
+     * catalog and schema, for tables which are found through the search path of the database. Non-empty
+     * results are cached per database, catalog, schema and table
+     */
+    private static List<String> readColumnNames(
+            Connection connection, String tableName, Map<String, List<String>> cache, TableMetaDataQuery query
+    ) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String catalog = connection.getCatalog();
+        String schema = connection.getSchema();
+        String cacheKey = metaData.getURL() + "|" + catalog + "|" + schema + "|" + tableName.toUpperCase();
+        List<String> columns = cache.get(cacheKey);
+        if (columns != null) {
+            return columns;
+        }
+        columns = readColumnNames(metaData, catalog, schema, tableName, query);
+        if (columns.isEmpty() && (catalog != null || schema != null)) {
+            columns = readColumnNames(metaData, null, null, tableName, query);
+        }
+        if (!columns.isEmpty()) {
+            cache.put(cacheKey, columns);
+        }
+        return columns;
+    }
+
+    private static List<String> readColumnNames(
+            DatabaseMetaData metaData, String catalog, String schema, String tableName, TableMetaDataQuery query
+    ) throws SQLException {
+        for (String name : Arrays.asList(tableName, tableName.toUpperCase(), tableName.toLowerCase())) {
+            Set<String> result = new LinkedHashSet<>();
+            try (ResultSet rs = query.apply(metaData, catalog, schema, name)) {
+                while (rs.next()) {
+                    if (rs.getString("TABLE_NAME").equalsIgnoreCase(tableName)) {
+                        result.add(rs.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+            if (!result.isEmpty()) {
+                return new ArrayList<>(result);
+            }
+        }
+        return new ArrayList<>();
+    }
+
+    @FunctionalInterface
+    private interface TableMetaDataQuery {
+        ResultSet apply(DatabaseMetaData metaData, String catalog, String schema, String tableName) throws SQLException;
     }
 
     @CheckReturnValue
     protected String fromClause() {
+        return fromClause(joinedTables);
+    }
+
+    @CheckReturnValue
+    private String fromClause(List<JoinedTable> joins) {
         return " from " + tableAlias.getTableNameAndAlias() + " " +
-                joinedTables.stream().map(JoinedTable::toSql).collect(Collectors.joining(" "));
+                joins.stream().map(JoinedTable::toSql).collect(Collectors.joining(" "));
     }
 
     @CheckReturnValue
@@ -323,16 +681,98 @@ public class DatabaseJoinedQueryBuilder implements
     }
 
     @CheckReturnValue
-    private String fetchClause() {
-        return rowCount == null ? "" : " offset " + offset + " rows fetch first " + rowCount + " rows only";
+    private String paginationClause(DatabaseDialect dialect, List<Object> parameters) {
+        return rowCount == null ? "" : dialect.paginationClause(offset, rowCount, !orderByClauses.isEmpty(), parameters);
     }
 
     private <T> T query(Connection connection, DatabaseResult.DatabaseResultMapper<T> resultMapper) {
-        return table.newStatement("SELECT", createSelectStatement(), parameters).execute(connection, stmt -> {
-            try (DatabaseResult result = createResult(stmt)) {
-                return resultMapper.apply(result);
+        DatabaseDialect dialect = DatabaseDialect.of(connection);
+        List<Object> parameters = new ArrayList<>(this.parameters);
+        String sql;
+        try {
+            if (!columns.isEmpty()) {
+                sql = createSelectStatement(selectedColumnList(), dialect, parameters);
+            } else if (explicitColumns) {
+                sql = createSelectStatement(explicitSelectList(connection), dialect, parameters);
+            } else {
+                sql = createSelectStatement("*", dialect, parameters);
             }
-        });
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+        return table.newStatement("SELECT", sql, parameters)
+                .query(connection, statement -> createResult(statement, sql), resultMapper);
+    }
+
+    /**
+     * The column indexes of each table alias in the result of a query
+     */
+    private static class ColumnLayout {
+        private final int columnCount;
+        private final Map<String, Integer> columnIndexes = new HashMap<>();
+        private final Map<String, Map<String, Integer>> aliasColumnIndexes = new HashMap<>();
+
+        private ColumnLayout(int columnCount, List<DatabaseTableAlias> aliases) {
+            this.columnCount = columnCount;
+            aliases.forEach(t -> aliasColumnIndexes.put(t.getAlias().toUpperCase(), new HashMap<>()));
+        }
+
+        /**
+         * Assigns each column to a table alias from {@link ResultSetMetaData#getTableName(int)}, assuming
+         * that the columns of <code>SELECT *</code> are returned in the order of the tables in the query
+         */
+        static ColumnLayout fromTableNames(ResultSetMetaData metaData, List<DatabaseTableAlias> aliases) throws SQLException {
+            ColumnLayout layout = new ColumnLayout(metaData.getColumnCount(), aliases);
+            Map<String, Map<String, Integer>> aliasColumnIndexes = layout.aliasColumnIndexes;
+            int index = 0;
+            // Unfortunately, even though the database should know the alias for the each table, JDBC doesn't reveal it
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                while (!metaData.getTableName(i).equalsIgnoreCase(aliases.get(index).getTableName())) {
+                    index++;
+                    if (index == aliases.size()) {
+                        throw new IllegalStateException("Failed to find table for column " + i + " (found " + aliasColumnIndexes + ") in " + aliases);
+                    }
+                }
+                String alias = aliases.get(index).getAlias().toUpperCase();
+                String columnName = metaData.getColumnName(i).toUpperCase();
+                if (aliasColumnIndexes.get(alias).containsKey(columnName)) {
+                    if (aliases.get(++index).getTableName().equalsIgnoreCase(metaData.getTableName(i))) {
+                        alias = aliases.get(index).getAlias().toUpperCase();
+                    } else {
+                        throw new IllegalStateException("Column twice in result " + alias + "." + columnName + ": " + aliasColumnIndexes);
+                    }
+                }
+                layout.add(alias, columnName, i);
+            }
+            return layout;
+        }
+
+        /**
+         * Assigns each column to a table alias from column labels on the form <code>alias__column</code>
+         */
+        static ColumnLayout fromColumnLabels(ResultSetMetaData metaData, List<DatabaseTableAlias> aliases) throws SQLException {
+            ColumnLayout layout = new ColumnLayout(metaData.getColumnCount(), aliases);
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                String label = metaData.getColumnLabel(i).toUpperCase();
+                String alias = null;
+                for (DatabaseTableAlias tableAlias : aliases) {
+                    String prefix = tableAlias.getAlias().toUpperCase() + COLUMN_LABEL_SEPARATOR;
+                    if (label.startsWith(prefix) && (alias == null || prefix.length() > alias.length() + COLUMN_LABEL_SEPARATOR.length())) {
+                        alias = tableAlias.getAlias().toUpperCase();
+                    }
+                }
+                if (alias == null) {
+                    throw new IllegalStateException("Failed to find table alias for column " + label + " in " + aliases);
+                }
+                layout.add(alias, label.substring(alias.length() + COLUMN_LABEL_SEPARATOR.length()), i);
+            }
+            return layout;
+        }
+
+        private void add(String alias, String columnName, int index) {
+            aliasColumnIndexes.get(alias).put(columnName, index);
+            columnIndexes.putIfAbsent(columnName, index);
+        }
     }
 
     private static class JoinedTable {
@@ -378,5 +818,19 @@ public class DatabaseJoinedQueryBuilder implements
         DatabaseTableAlias getAlias() {
             return joinedTable;
         }
+
+        boolean isLeftJoin() {
+            return joinType.equals("left join");
+        }
+
+        /**
+         * Returns true if the join columns include the whole primary key of the joined table,
+         * so that the join matches at most one row
+         */
+        boolean isOnPrimaryKey(Connection connection) throws SQLException {
+            List<String> primaryKey = getPrimaryKeyColumns(connection, joinedTable.getTableName());
+            Set<String> joinColumns = rightFields.stream().map(String::toUpperCase).collect(Collectors.toSet());
+            return !primaryKey.isEmpty() && primaryKey.stream().map(String::toUpperCase).allMatch(joinColumns::contains);
+        }
     }
 }
@@ -0,0 +1,137 @@
+package org.fluentjdbc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates the <code>WHERE</code> expression for keyset pagination and converts the key values
+ * of the last row on a page to and from the opaque cursor returned by {@link DatabasePage#getNextCursor()}.
+ * The cursor keeps the type of each value, so it is bound to the next query in the same way as the
+ * value read from the database.
+ */
+class DatabaseKeysetCursor {
+
+    private DatabaseKeysetCursor() {
+    }
+
+    /**
+     * Returns <code>column &gt; ?</code> for a single column or the expanded comparison
+     * <code>(a &gt; ? OR (a = ? AND b &gt; ?))</code> for multiple columns, and adds the values to
+     * parameters in the order they appear in the expression. Unlike the row value comparison
+     * <code>(a, b) &gt; (?, ?)</code>, the expanded form is supported by all databases
+     */
+    static String condition(List<String> columns, List<?> values, List<Object> parameters) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Keyset pagination requires at least one column");
+        } else if (columns.size() == 1) {
+            parameters.add(values.get(0));
+            return columns.get(0) + " > ?";
+        }
+        List<String> alternatives = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            List<String> comparisons = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                comparisons.add(columns.get(j) + " = ?");
+                parameters.add(values.get(j));
+            }
+            comparisons.add(columns.get(i) + " > ?");
+            parameters.add(values.get(i));
+            alternatives.add(i == 0 ? comparisons.get(0) : "(" + String.join(" AND ", comparisons) + ")");
+        }
+        return "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    static String encode(List<Object> values) {
+        StringBuilder result = new StringBuilder();
+        for (Object value : values) {
+            String encoded = encodeValue(value);
+            result.append(encoded.length()).append(':').append(encoded);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(result.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static List<Object> decode(String cursor) {
+        try {
+            String s = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<Object> values = new ArrayList<>();
+            int pos = 0;
+            while (pos < s.length()) {
+                int separator = s.indexOf(':', pos);
+                int length = Integer.parseInt(s.substring(pos, separator));
+                values.add(decodeValue(s.substring(separator + 1, separator + 1 + length)));
+                pos = separator + 1 + length;
+            }
+            return values;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+        }
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof String) {
+            return "s" + value;
+        } else if (value instanceof Integer || value instanceof Short) {
+            return "i" + value;
+        } else if (value instanceof Long) {
+            return "l" + value;
+        } else if (value instanceof BigInteger) {
+            return "B" + value;
+        } else if (value instanceof BigDecimal) {
+            return "d" + value;
+        } else if (value instanceof Double) {
+            return "f" + value;
+        } else if (value instanceof Boolean) {
+            return "b" + value;
+        } else if (value instanceof UUID) {
+            return "u" + value;
+        } else if (value instanceof Timestamp) {
+            return "t" + ((Timestamp) value).toInstant();
+        } else if (value instanceof Date) {
+            return "D" + ((Date) value).toLocalDate();
+        } else if (value instanceof Instant) {
+            return "I" + value;
+        } else if (value instanceof LocalDate) {
+            return "L" + value;
+        } else if (value instanceof LocalDateTime) {
+            return "T" + value;
+        } else if (value instanceof OffsetDateTime) {
+            return "o" + value;
+        } else if (value == null) {
+            throw new IllegalStateException("Keyset pagination columns must not be null");
+        }
+        throw new IllegalArgumentException("Unsupported keyset column type " + value.getClass().getName());
+    }
+
+    private static Object decodeValue(String encoded) {
+        String value = encoded.substring(1);
+        switch (encoded.charAt(0)) {
+            case 's': return value;
+            case 'i': return Integer.valueOf(value);
+            case 'l': return Long.valueOf(value);
+            case 'B': return new BigInteger(value);
+            case 'd': return new BigDecimal(value);
+            case 'f': return Double.valueOf(value);
+            case 'b': return Boolean.valueOf(value);
+            case 'u': return UUID.fromString(value);
+            case 't': return Timestamp.from(Instant.parse(value));
+            case 'D': return Date.valueOf(LocalDate.parse(value));
+            case 'I': return Instant.parse(value);
+            case 'L': return LocalDate.parse(value);
+            case 'T': return LocalDateTime.parse(value);
+            case 'o': return OffsetDateTime.parse(value);
+            default: throw new IllegalArgumentException("Unknown type " + encoded.charAt(0));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.fluentjdbc;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Chooses how to restrict a query to a large set of keys for
+ * {@link DatabaseTableQueryBuilder#whereInLarge(Connection, String, Collection)}, based on the number
+ * of keys and the database of the connection:
+ *
+ * <ul>
+ *     <li>Up to {@value DatabaseStatement#MAX_IN_LIST_SIZE} keys: {@link DatabaseQueryable#whereIn(String, Collection)}</li>
+ *     <li>PostgreSQL: <code>fieldName IN (SELECT unnest(?))</code> with the keys as one array parameter</li>
+ *     <li>H2: <code>fieldName = ANY(?)</code> with the keys as one array parameter</li>
+ *     <li>SQL Server, MySQL and SQLite: the keys are inserted into a session temporary table with a
+ *     batch insert and the query uses <code>fieldName IN (SELECT key_value FROM temp_table)</code></li>
+ *     <li>Other databases: {@link DatabaseQueryable#whereIn(String, Collection)}</li>
+ * </ul>
+ *
+ * The temporary tables are reused for later key sets on the same connection, so connections from a
+ * pool don't accumulate tables. Each connection cycles through {@value #TEMP_TABLES_PER_TYPE} tables
+ * for each type of key, which are emptied before the keys are inserted, so up to this number of queries
+ * can be built at the same time on the same connection without overwriting each other's keys.
+ * The tables are dropped by the database when the connection is closed.
+ */
+class DatabaseLargeKeySet {
+
+    static final int TEMP_TABLES_PER_TYPE = 16;
+
+    private static final Map<Connection, AtomicInteger> tempTableCounts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private DatabaseLargeKeySet() {
+    }
+
+    static <T extends DatabaseQueryable<T>> T whereIn(T query, DatabaseTable table, Connection connection, String fieldName, Collection<?> keys) {
+        if (keys.size() <= DatabaseStatement.MAX_IN_LIST_SIZE) {
+            return query.whereIn(fieldName, keys);
+        }
+        switch (DatabaseDialect.of(connection)) {
+            case POSTGRESQL:
+                return query.whereExpression(fieldName + " IN (SELECT unnest(?))", keys);
+            case H2:
+                return query.whereAny(fieldName, keys);
+            case SQL_SERVER:
+                return whereInTempTable(query, table, connection, fieldName, keys,
+                        "#" + tempTableName(connection, keys),
+                        name -> "IF OBJECT_ID('tempdb.." + name + "') IS NULL CREATE TABLE " + name + " (key_value " + columnType(keys) + ")");
+            case MYSQL:
+                return whereInTempTable(query, table, connection, fieldName, keys,
+                        tempTableName(connection, keys),
+                        name -> "CREATE TEMPORARY TABLE IF NOT EXISTS " + name + " (key_value " + columnType(keys) + ")");
+            case SQLITE:
+                return whereInTempTable(query, table, connection, fieldName, keys,
+                        tempTableName(connection, keys),
+                        name -> "CREATE TEMP TABLE IF NOT EXISTS " + name + " (key_value " + columnType(keys) + ")");
+            default:
+                return query.whereIn(fieldName, keys);
+        }
+    }
+
+    private static <T extends DatabaseQueryable<T>> T whereInTempTable(
+            T query, DatabaseTable table, Connection connection, String fieldName, Collection<?> keys,
+            String tempTable, Function<String, String> createStatement
+    ) {
+        table.newStatement("*", createStatement.apply(tempTable), Collections.emptyList()).executeUpdate(connection);
+        table.newStatement("DELETE", "DELETE FROM " + tempTable, Collections.emptyList()).executeUpdate(connection);
+        table.newStatement("BULK_INSERT", "INSERT INTO " + tempTable + " (key_value) VALUES (?)", Collections.emptyList())
+                .executeBatch(connection, keys, Collections.singletonList(key -> key));
+        return query.whereExpression(fieldName + " IN (SELECT key_value FROM " + tempTable + ")");
+    }
+
+    private static String tempTableName(Connection connection, Collection<?> keys) {
+        int slot = tempTableCounts.computeIfAbsent(connection, c -> new AtomicInteger()).getAndIncrement() % TEMP_TABLES_PER_TYPE;
+        return "fluentjdbc_keys_" + keyType(keys) + "_" + slot;
+    }
+
+    private static String columnType(Collection<?> keys) {
+        String keyType = keyType(keys);
+        return keyType.equals("varchar") ? "varchar(4000)" : keyType;
+    }
+
+    /**
+     * Returns the narrowest column type which can hold all the keys: integer if all keys are
+     * Integer or Short, bigint if all keys are integral numbers, otherwise varchar
+     */
+    private static String keyType(Collection<?> keys) {
+        boolean allIntegers = true;
+        for (Object key : keys) {
+            if (key instanceof Long) {
+                allIntegers = false;
+            } else if (!(key instanceof Integer || key instanceof Short)) {
+                return "varchar";
+            }
+        }
+        return allIntegers ? "integer" : "bigint";
+    }
+}
@@ -36,10 +36,12 @@ public interface DatabaseListableQueryBuilder<T extends DatabaseListableQueryBui
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @CheckReturnValue
     T skipAndLimit(int offset, int rowCount);
@@ -89,6 +91,26 @@ public interface DatabaseListableQueryBuilder<T extends DatabaseListableQueryBui
     @CheckReturnValue
     int getCount(Connection connection);
 
+    /**
+     * Returns true if the query matches at least one row. Unlike <code>getCount(connection) &gt; 0</code>,
+     * implementations only ask the database for the first matching row
+     */
+    @CheckReturnValue
+    default boolean exists(Connection connection) {
+        return getCount(connection) > 0;
+    }
+
+    /**
+     * Returns the number of rows the query planner of the database expects the query to return,
+     * which is much cheaper than {@link #getCount(Connection)} for large results, but may be
+     * inaccurate. Falls back to {@link #getCount(Connection)} for databases that don't provide
+     * an estimate. Useful for showing the approximate number of pages for large listings
+     */
+    @CheckReturnValue
+    default long estimateCount(Connection connection) {
+        return getCount(connection);
+    }
+
     /**
      * Executes <code>SELECT count(*) FROM ...</code> on the query and returns the result
      */
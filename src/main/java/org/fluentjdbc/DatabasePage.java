@@ -0,0 +1,93 @@
+package org.fluentjdbc;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of results from keyset pagination with
+ * {@link DatabaseTableQueryBuilder#pageAfter(java.sql.Connection, List, String, int, DatabaseResult.RowMapper)}
+ * or {@link DatabaseJoinedQueryBuilder#pageAfter(java.sql.Connection, List, String, int, DatabaseResult.RowMapper)}.
+ * Pass {@link #getNextCursor()} to <code>pageAfter</code> to retrieve the next page. Example:
+ *
+ * <pre>
+ * DatabasePage&lt;Person&gt; page = table.where("status", status)
+ *      .pageAfter(connection, Arrays.asList("last_name", "id"), request.getParameter("cursor"), 50, Person::new);
+ * response.setItems(page.getItems());
+ * response.setNextCursor(page.getNextCursor());
+ * </pre>
+ */
+@CheckReturnValue
+public class DatabasePage<T> {
+
+    private final List<T> items;
+    @Nullable
+    private final String nextCursor;
+
+    DatabasePage(List<T> items, @Nullable String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns an opaque token which identifies the position after the last item on
+     * this page, or null if this is the last page
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{items=" + items.size() + ", nextCursor=" + nextCursor + "}";
+    }
+
+    /**
+     * Maps up to pageSize rows and reads the keys of the last mapped row. If the query returns
+     * more than pageSize rows, there is a next page. Used with a query limited to pageSize+1 rows
+     */
+    static class Collector<T> implements DatabaseResult.RowConsumer {
+        private final int pageSize;
+        private final DatabaseResult.RowMapper<T> mapper;
+        private final DatabaseResult.RowMapper<List<Object>> keyExtractor;
+        private final List<T> items = new ArrayList<>();
+        private List<Object> lastKeys;
+        private boolean hasNextPage = false;
+
+        Collector(int pageSize, DatabaseResult.RowMapper<T> mapper, DatabaseResult.RowMapper<List<Object>> keyExtractor) {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("pageSize must be positive, was " + pageSize);
+            }
+            this.pageSize = pageSize;
+            this.mapper = mapper;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public void apply(DatabaseRow row) throws SQLException {
+            if (items.size() < pageSize) {
+                items.add(mapper.mapRow(row));
+                if (items.size() == pageSize) {
+                    lastKeys = keyExtractor.mapRow(row);
+                }
+            } else {
+                hasNextPage = true;
+            }
+        }
+
+        DatabasePage<T> getPage() {
+            return new DatabasePage<>(items, hasNextPage ? DatabaseKeysetCursor.encode(lastKeys) : null);
+        }
+    }
+}
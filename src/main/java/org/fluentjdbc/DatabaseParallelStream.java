@@ -0,0 +1,200 @@
+package org.fluentjdbc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A parallel {@link Stream} over chunks of a query which are read concurrently on an executor, for
+ * {@link DatabaseTableQueryBuilder#parallelStream}. Each chunk hands over one batch of up to
+ * {@value DatabaseResult#STREAM_BATCH_SIZE} rows at a time and waits until the stream has taken it,
+ * so at most one batch per chunk is held in memory while the stream is consumed. The stream splits
+ * between chunks and returns the rows in chunk order. Closing the stream stops the chunks that are
+ * still being read.
+ */
+class DatabaseParallelStream {
+
+    private static final Object END = new Object();
+
+    private DatabaseParallelStream() {
+    }
+
+    /**
+     * Reads all rows of one chunk and passes each mapped row to the consumer
+     */
+    @FunctionalInterface
+    interface ChunkReader<T> {
+        void read(Consumer<T> rows);
+    }
+
+    static <T> Stream<T> stream(List<ChunkReader<T>> readers, long estimatedRows, Executor executor) {
+        List<Chunk<T>> chunks = new ArrayList<>();
+        long estimatedChunkRows = readers.isEmpty() ? 0 : Math.max(1, estimatedRows / readers.size());
+        try {
+            for (ChunkReader<T> reader : readers) {
+                Chunk<T> chunk = new Chunk<>(estimatedChunkRows);
+                chunks.add(chunk);
+                executor.execute(() -> chunk.produce(reader));
+            }
+        } catch (RuntimeException e) {
+            chunks.forEach(Chunk::close);
+            throw e;
+        }
+        return StreamSupport.stream(new ChunksSpliterator<>(chunks, 0, chunks.size()), true)
+                .onClose(() -> chunks.forEach(Chunk::close));
+    }
+
+    private static class ChunksSpliterator<T> implements Spliterator<T> {
+        private final List<Chunk<T>> chunks;
+        private int from;
+        private final int to;
+
+        private ChunksSpliterator(List<Chunk<T>> chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (from < to) {
+                if (chunks.get(from).tryAdvance(action)) {
+                    return true;
+                }
+                from++;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (to - from < 2) {
+                return null;
+            }
+            int middle = (from + to) / 2;
+            ChunksSpliterator<T> prefix = new ChunksSpliterator<>(chunks, from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = 0;
+            for (int i = from; i < to; i++) {
+                size += chunks.get(i).estimatedRows;
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED;
+        }
+    }
+
+    private static class Chunk<T> {
+        private final SynchronousQueue<Object> queue = new SynchronousQueue<>();
+        private final long estimatedRows;
+        private volatile boolean closed = false;
+        private List<T> batch = new ArrayList<>();
+        private Iterator<T> current;
+        private boolean done = false;
+
+        private Chunk(long estimatedRows) {
+            this.estimatedRows = estimatedRows;
+        }
+
+        private void produce(ChunkReader<T> reader) {
+            try {
+                reader.read(this::add);
+                if (!batch.isEmpty()) {
+                    handOver(batch);
+                }
+                handOver(END);
+            } catch (Throwable e) {
+                if (!closed) {
+                    try {
+                        handOver(new Failure(e));
+                    } catch (CancellationException ignored) {
+                    }
+                }
+            }
+        }
+
+        private void add(T row) {
+            batch.add(row);
+            if (batch.size() >= DatabaseResult.STREAM_BATCH_SIZE) {
+                handOver(batch);
+                batch = new ArrayList<>();
+            }
+        }
+
+        private void handOver(Object item) {
+            try {
+                while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    if (closed) {
+                        throw new CancellationException("Stream was closed");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted");
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean tryAdvance(Consumer<? super T> action) {
+            while (current == null || !current.hasNext()) {
+                if (done) {
+                    return false;
+                }
+                Object next = take();
+                if (next == END) {
+                    done = true;
+                    return false;
+                } else if (next instanceof Failure) {
+                    done = true;
+                    Throwable cause = ((Failure) next).cause;
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+                current = ((List<T>) next).iterator();
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        private Object take() {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted");
+            }
+        }
+
+        private void close() {
+            closed = true;
+        }
+    }
+
+    private static class Failure {
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
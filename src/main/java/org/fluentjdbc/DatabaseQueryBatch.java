@@ -0,0 +1,146 @@
+package org.fluentjdbc;
+
+import javax.annotation.CheckReturnValue;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Executes several independent <code>SELECT</code> statements in one round trip to the database
+ * and maps the result of each statement with its own {@link DatabaseResult.RowMapper}. Where
+ * the database supports multiple result sets from one statement (PostgreSQL and SQL Server),
+ * the statements are joined with <code>;</code> and executed with {@link java.sql.PreparedStatement#execute()},
+ * reading each result with {@link java.sql.PreparedStatement#getMoreResults()}. With other
+ * databases, the statements are executed one after the other on the same connection.
+ *
+ * <p>The results are available from the {@link Result} returned by {@link #add(DatabaseStatement, DatabaseResult.RowMapper)}
+ * after {@link #execute(Connection)}. Example:</p>
+ *
+ * <pre>
+ * DatabaseQueryBatch batch = new DatabaseQueryBatch(factory);
+ * DatabaseQueryBatch.Result&lt;Order&gt; orders = batch.add(orderTable.where("customer_id", id).createSelect(), Order::new);
+ * DatabaseQueryBatch.Result&lt;Customer&gt; customer = batch.add(customerTable.where("id", id).createSelect(), Customer::new);
+ * batch.execute(connection);
+ * show(customer.single().orElseThrow(NotFoundException::new), orders.get());
+ * </pre>
+ */
+public class DatabaseQueryBatch {
+
+    private final DatabaseStatementFactory factory;
+    private final List<Result<?>> queries = new ArrayList<>();
+
+    public DatabaseQueryBatch(DatabaseStatementFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Adds the <code>SELECT</code> statement to the batch. The rows are mapped with mapper
+     * when the batch is executed
+     */
+    @CheckReturnValue
+    public <T> Result<T> add(DatabaseStatement select, DatabaseResult.RowMapper<T> mapper) {
+        Result<T> result = new Result<>(select, mapper);
+        queries.add(result);
+        return result;
+    }
+
+    /**
+     * Executes all statements in the batch, in one round trip if {@link #supportsMultipleResults(Connection)}
+     */
+    public void execute(Connection connection) {
+        if (queries.size() > 1 && supportsMultipleResults(connection)) {
+            executeCombined(connection);
+        } else {
+            for (Result<?> query : queries) {
+                query.read(connection);
+            }
+        }
+    }
+
+    private void executeCombined(Connection connection) {
+        String statement = queries.stream().map(q -> q.select.getStatement()).collect(Collectors.joining(";\n"));
+        List<Object> parameters = new ArrayList<>();
+        for (Result<?> query : queries) {
+            parameters.addAll(query.select.getParameters());
+        }
+        factory.newStatement("*", "SELECT", statement, parameters).execute(connection, stmt -> {
+            boolean hasResultSet = stmt.execute();
+            for (Result<?> query : queries) {
+                while (!hasResultSet) {
+                    if (stmt.getUpdateCount() == -1) {
+                        throw new IllegalStateException("Expected " + queries.size() + " result sets from " + statement);
+                    }
+                    hasResultSet = stmt.getMoreResults();
+                }
+                try (DatabaseResult result = new DatabaseResult(stmt, stmt.getResultSet())) {
+                    query.read(result);
+                }
+                hasResultSet = stmt.getMoreResults();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns true for databases where a prepared statement with several queries separated
+     * by <code>;</code> returns one result set per query. Override to enable for other databases,
+     * such as MySQL with <code>allowMultiQueries=true</code>
+     */
+    protected boolean supportsMultipleResults(Connection connection) {
+        DatabaseDialect dialect = DatabaseDialect.of(connection);
+        return dialect == DatabaseDialect.POSTGRESQL || dialect == DatabaseDialect.SQL_SERVER;
+    }
+
+    /**
+     * The mapped rows of one statement in a {@link DatabaseQueryBatch}, available after the batch is executed
+     */
+    public static class Result<T> implements Supplier<List<T>> {
+        private final DatabaseStatement select;
+        private final DatabaseResult.RowMapper<T> mapper;
+        private List<T> rows;
+
+        private Result(DatabaseStatement select, DatabaseResult.RowMapper<T> mapper) {
+            this.select = select;
+            this.mapper = mapper;
+        }
+
+        private void read(Connection connection) {
+            rows = select.list(connection, mapper);
+        }
+
+        private void read(DatabaseResult result) throws SQLException {
+            rows = result.list(mapper);
+        }
+
+        /**
+         * Returns the mapped rows
+         *
+         * @throws IllegalStateException if the batch has not been executed
+         */
+        @Override
+        public List<T> get() {
+            if (rows == null) {
+                throw new IllegalStateException("Batch has not been executed");
+            }
+            return rows;
+        }
+
+        /**
+         * Returns the mapped row if exactly one row was returned, {@link Optional#empty()} if
+         * no rows were returned
+         *
+         * @throws IllegalStateException if more than one row was returned or the batch has not been executed
+         */
+        public Optional<T> single() {
+            List<T> rows = get();
+            if (rows.size() > 1) {
+                throw new IllegalStateException("More than one row returned from " + select.getStatement());
+            }
+            return rows.stream().findFirst();
+        }
+    }
+}
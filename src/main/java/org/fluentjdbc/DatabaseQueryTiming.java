@@ -0,0 +1,143 @@
+package org.fluentjdbc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time spent in each phase of executing a {@link DatabaseStatement}, measured with
+ * {@link System#nanoTime()}, together with the number of rows, parameters and batch size. Passed to {@link DatabaseTableOperationReporter#reportQuery(String, DatabaseQueryTiming)}
+ * when the statement completes.
+ *
+ * <ul>
+ *     <li>prepare: {@link java.sql.Connection#prepareStatement(String)}</li>
+ *     <li>bind: {@link DatabaseStatement#bindParameters(java.sql.PreparedStatement, java.util.List)}, or
+ *     {@link java.sql.PreparedStatement#addBatch()} for each row in batches</li>
+ *     <li>execute: {@link java.sql.PreparedStatement#executeQuery()}, {@link java.sql.PreparedStatement#executeUpdate()}
+ *     or other operations on the statement</li>
+ *     <li>fetch: iterating over and mapping the {@link java.sql.ResultSet}. For
+ *     {@link DatabaseStatement#stream} only the time spent in {@link java.sql.ResultSet#next()}</li>
+ *     <li>map: for {@link DatabaseStatement#stream}, the time spent in the {@link DatabaseResult.RowMapper}</li>
+ * </ul>
+ *
+ * <p>For {@link DatabaseStatement#stream}, the time the consumer of the stream spent between reading
+ * rows is available as {@link #getConsumeNanos()}, and is not included in {@link #getTotalNanos()}.
+ * Streams are reported when the last row has been read or the stream is closed.</p>
+ */
+public class DatabaseQueryTiming {
+
+    private final long prepareNanos;
+    private final long bindNanos;
+    private final long executeNanos;
+    private final long fetchNanos;
+    private final long mapNanos;
+    private final long consumeNanos;
+    private final long rowCount;
+    private final int parameterCount;
+    private final int batchSize;
+
+    DatabaseQueryTiming(
+            long prepareNanos, long bindNanos, long executeNanos, long fetchNanos, long mapNanos, long consumeNanos,
+            long rowCount, int parameterCount, int batchSize
+    ) {
+        this.prepareNanos = prepareNanos;
+        this.bindNanos = bindNanos;
+        this.executeNanos = executeNanos;
+        this.fetchNanos = fetchNanos;
+        this.mapNanos = mapNanos;
+        this.consumeNanos = consumeNanos;
+        this.rowCount = rowCount;
+        this.parameterCount = parameterCount;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the time spent preparing the statement in nanoseconds
+     */
+    public long getPrepareNanos() {
+        return prepareNanos;
+    }
+
+    /**
+     * Returns the time spent binding parameters to the statement in nanoseconds
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    /**
+     * Returns the time spent executing the statement in nanoseconds
+     */
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * Returns the time spent reading rows from the {@link java.sql.ResultSet} in nanoseconds.
+     * Zero for statements that don't return a result
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    /**
+     * Returns the time spent in the {@link DatabaseResult.RowMapper} for streamed queries in
+     * nanoseconds. Zero for other statements, where mapping is included in {@link #getFetchNanos()}
+     */
+    public long getMapNanos() {
+        return mapNanos;
+    }
+
+    /**
+     * Returns the time the consumer of a streamed query spent between reading rows in nanoseconds.
+     * Zero for statements that are not streamed
+     */
+    public long getConsumeNanos() {
+        return consumeNanos;
+    }
+
+    /**
+     * Returns the sum of all phases in nanoseconds, excluding {@link #getConsumeNanos()}
+     */
+    public long getTotalNanos() {
+        return prepareNanos + bindNanos + executeNanos + fetchNanos + mapNanos;
+    }
+
+    /**
+     * Returns the sum of all phases in milliseconds, as reported to
+     * {@link DatabaseTableOperationReporter#reportQuery(String, long)}
+     */
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getTotalNanos());
+    }
+
+    /**
+     * Returns the number of rows read for queries or the update count for updates,
+     * or -1 if unknown
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of parameters bound to the statement. For batches, the number
+     * of parameters for each row in the batch
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Returns the number of rows added with {@link java.sql.PreparedStatement#addBatch()}, or 0
+     * if the statement was not executed as a batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{prepare=" + prepareNanos + "ns, bind=" + bindNanos + "ns"
+                + ", execute=" + executeNanos + "ns, fetch=" + fetchNanos + "ns, map=" + mapNanos + "ns"
+                + ", consume=" + consumeNanos + "ns, rows=" + rowCount
+                + ", parameters=" + parameterCount + ", batchSize=" + batchSize + "}";
+    }
+}
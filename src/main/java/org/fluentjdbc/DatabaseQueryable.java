@@ -2,6 +2,7 @@ package org.fluentjdbc;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -70,28 +71,71 @@ public interface DatabaseQueryable<T extends DatabaseQueryable<T>> {
      * Adds "<code>WHERE fieldName in (?, ?, ?)</code>" to the query.
      * If the parameter list is empty, instead adds <code>WHERE fieldName &lt;&gt; fieldName</code>,
      * resulting in no rows being returned.
+     *
+     * <p>To limit the number of distinct SQL statements, the number of parameters is padded to the
+     * next power of two by repeating the last value. Lists with more than
+     * {@value DatabaseStatement#MAX_IN_LIST_SIZE} values (the limit for Oracle) are split into
+     * <code>(fieldName IN (...) OR fieldName IN (...))</code>. For very large lists, consider
+     * {@link #whereAny(String, Collection)} where the database supports arrays.</p>
      */
     @CheckReturnValue
     default T whereIn(String fieldName, Collection<?> parameters) {
         if (parameters.isEmpty()) {
             return whereExpression(fieldName + " <> " + fieldName);
         }
-        return whereExpressionWithParameterList(
-                fieldName + " IN (" + parameterString(parameters.size()) + ")",
-                parameters
-        );
+        List<Object> values = new ArrayList<>(parameters);
+        List<String> expressions = new ArrayList<>();
+        List<Object> paddedValues = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += DatabaseStatement.MAX_IN_LIST_SIZE) {
+            List<Object> chunk = values.subList(start, Math.min(start + DatabaseStatement.MAX_IN_LIST_SIZE, values.size()));
+            int paddedSize = DatabaseStatement.paddedInListSize(chunk.size());
+            expressions.add(fieldName + " IN (" + parameterString(paddedSize) + ")");
+            paddedValues.addAll(chunk);
+            for (int i = chunk.size(); i < paddedSize; i++) {
+                paddedValues.add(chunk.get(chunk.size() - 1));
+            }
+        }
+        String expression = expressions.size() == 1 ? expressions.get(0) : "(" + String.join(" OR ", expressions) + ")";
+        return whereExpressionWithParameterList(expression, paddedValues);
     }
 
     /**
      * Adds "<code>WHERE fieldName in (?, ?, ?)</code>" to the query.
      * If the parameter list is empty, instead adds <code>WHERE fieldName &lt;&gt; fieldName</code>,
      * resulting in no rows being returned.
+     *
+     * @see #whereIn(String, Collection)
      */
     @CheckReturnValue
     default T whereIn(DatabaseColumnReference fieldName, Collection<?> parameters) {
         return whereIn(fieldName.getQualifiedColumnName(), parameters);
     }
 
+    /**
+     * Adds "<code>WHERE fieldName = ANY(?)</code>" to the query with the values bound as a single
+     * array parameter, so the SQL is the same regardless of the number of values. Supported by
+     * PostgreSQL and H2 for Integer, Long, String and UUID values. If the parameter list is empty,
+     * instead adds <code>WHERE fieldName &lt;&gt; fieldName</code>, resulting in no rows being returned.
+     */
+    @CheckReturnValue
+    default T whereAny(String fieldName, Collection<?> parameters) {
+        if (parameters.isEmpty()) {
+            return whereExpression(fieldName + " <> " + fieldName);
+        }
+        return whereExpression(fieldName + " = ANY(?)", parameters);
+    }
+
+    /**
+     * Adds "<code>WHERE fieldName = ANY(?)</code>" to the query with the values bound as a single
+     * array parameter
+     *
+     * @see #whereAny(String, Collection)
+     */
+    @CheckReturnValue
+    default T whereAny(DatabaseColumnReference fieldName, Collection<?> parameters) {
+        return whereAny(fieldName.getQualifiedColumnName(), parameters);
+    }
+
     /**
      * For each field adds "<code>WHERE fieldName = value</code>" to the query
      */
@@ -20,6 +20,9 @@ import javax.annotation.Nonnull;
  * DbContext context = new DbContext(new DatabaseStatementFactory(reporter));
  * </pre>
  *
+ * <p>For nanosecond precision and timing of each phase of the statement, override
+ * {@link DatabaseTableOperationReporter#reportQuery(String, DatabaseQueryTiming)}, or use
+ * {@link DatabaseHistogramReporter} to get percentiles per table and operation.</p>
  */
 @FunctionalInterface
 public interface DatabaseReporter {
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -16,8 +17,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Spliterators;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -32,6 +35,11 @@ public class DatabaseResult implements AutoCloseable {
 
     private final static Logger logger = LoggerFactory.getLogger(DatabaseResult.class);
 
+    /**
+     * The number of rows read by each split of a parallel {@link #stream(RowMapper, String)}
+     */
+    static final int STREAM_BATCH_SIZE = 256;
+
     /**
      * Used to execute statements on the whole DatabaseResult. Like
      * {@link java.util.function.Function}, but allows {@link SQLException} to be
@@ -65,11 +73,22 @@ public class DatabaseResult implements AutoCloseable {
         void apply(DatabaseRow row) throws SQLException;
     }
 
+    /**
+     * Functional interface for {@link DatabaseJoinedQueryBuilder#listDistinct}. Like
+     * {@link java.util.function.BiConsumer}, but allows {@link SQLException} to be thrown from {@link #apply}
+     */
+    @FunctionalInterface
+    public interface ChildRowConsumer<T> {
+        void apply(T parent, DatabaseRow row) throws SQLException;
+    }
+
     private final PreparedStatement statement;
     protected final ResultSet resultSet;
     protected final Map<String, Integer> columnIndexes;
     protected final Map<String, Map<String, Integer>> tableColumnIndexes;
     private final Map<DatabaseTableAlias, Integer> keys;
+    private final DatabaseRow row;
+    private long rowCount = 0;
 
     DatabaseResult(PreparedStatement statement, ResultSet resultSet, Map<String, Integer> columnIndexes, Map<String, Map<String, Integer>> aliasColumnIndexes, Map<DatabaseTableAlias, Integer> keys) {
         this.statement = statement;
@@ -77,6 +96,7 @@ public class DatabaseResult implements AutoCloseable {
         this.columnIndexes = columnIndexes;
         this.tableColumnIndexes = aliasColumnIndexes;
         this.keys = keys;
+        this.row = new DatabaseRow(resultSet, columnIndexes, aliasColumnIndexes, keys);
     }
 
     public DatabaseResult(PreparedStatement statement, ResultSet resultSet) throws SQLException {
@@ -114,7 +134,19 @@ public class DatabaseResult implements AutoCloseable {
      */
     @CheckReturnValue
     public boolean next() throws SQLException {
-        return resultSet.next();
+        if (resultSet.next()) {
+            rowCount++;
+            row.clearRowCache();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of rows that have been read from the {@link ResultSet} with {@link #next()}
+     */
+    long getRowCount() {
+        return rowCount;
     }
 
     /**
@@ -144,7 +176,22 @@ public class DatabaseResult implements AutoCloseable {
      */
     @CheckReturnValue
     public <T> Stream<T> stream(RowMapper<T> mapper, String query) throws SQLException {
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(mapper, query), 0), false);
+        return stream(new Iterator<>(mapper, query));
+    }
+
+    /**
+     * Returns a {@link Stream} which reports the number of rows and the time spent reading and mapping
+     * rows to the {@link DatabaseStatement.StatementTimer} when the last row has been read or the stream
+     * is closed. Rows which are mapped in batches by a parallel stream are not included in the mapping time
+     */
+    @CheckReturnValue
+    <T> Stream<T> stream(RowMapper<T> mapper, DatabaseStatement.StatementTimer timer) throws SQLException {
+        return stream(new Iterator<>(mapper, timer.getStatement(), timer));
+    }
+
+    private <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(new BatchSpliterator<>(iterator, STREAM_BATCH_SIZE), false)
+                .onClose(iterator::closeStream);
     }
 
     /**
@@ -194,49 +241,249 @@ public class DatabaseResult implements AutoCloseable {
 
     /**
      * Returns a {@link DatabaseRow} for the current row, allowing mapping retrieval and conversion
-     * of data in all columns
+     * of data in all columns. The same {@link DatabaseRow} is returned for every row, and it and
+     * the views returned by {@link DatabaseRow#table(DatabaseTableAlias)} always read from the
+     * current row
      */
     @CheckReturnValue
     public DatabaseRow row() {
-        return new DatabaseRow(this.resultSet, this.columnIndexes, this.tableColumnIndexes, this.keys);
+        return row;
+    }
+
+    /**
+     * A {@link Spliterator} for the rows of a {@link DatabaseResult} which can be used with parallel
+     * streams. Each {@link #trySplit()} reads the next <code>batchSize</code> rows into a snapshot of their
+     * values with {@link DatabaseRowSnapshot} and returns them as a sized spliterator which calls the
+     * {@link RowMapper} for each row when it is advanced. The {@link ResultSet} is only read by one thread
+     * at a time, while the rows of each batch are mapped and processed in parallel. Rows which are not
+     * split off are mapped directly from the current row of the {@link ResultSet}.
+     *
+     * <p>The rows are {@link #ORDERED}. The spliterator is not {@link #NONNULL}, as the {@link RowMapper}
+     * may return null, and not {@link #SIZED}, as the number of rows is not known until the rows are read</p>
+     */
+    class BatchSpliterator<T> implements Spliterator<T> {
+        private final Iterator<T> iterator;
+        private final int batchSize;
+
+        BatchSpliterator(Iterator<T> iterator, int batchSize) {
+            this.iterator = iterator;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            iterator.forEachRemaining(action);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            DatabaseRow[] batch = new DatabaseRow[batchSize];
+            int size = 0;
+            while (size < batchSize && iterator.hasNext()) {
+                batch[size++] = iterator.nextSnapshot();
+            }
+            return new SnapshotSpliterator<>(batch, size, iterator.mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return iterator.hasNext() ? Long.MAX_VALUE : 0;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED;
+        }
+    }
+
+    /**
+     * The rows split off by {@link BatchSpliterator#trySplit()}, which are mapped by the thread that
+     * processes the batch
+     */
+    private static class SnapshotSpliterator<T> implements Spliterator<T> {
+        private final DatabaseRow[] rows;
+        private final int size;
+        private final RowMapper<T> mapper;
+        private int index = 0;
+
+        private SnapshotSpliterator(DatabaseRow[] rows, int size, RowMapper<T> mapper) {
+            this.rows = rows;
+            this.size = size;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= size) {
+                return false;
+            }
+            DatabaseRow row = rows[index];
+            rows[index++] = null;
+            try {
+                action.accept(mapper.mapRow(row));
+            } catch (SQLException e) {
+                throw ExceptionUtil.softenCheckedException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
     }
 
     private class Iterator<T> implements java.util.Iterator<T> {
         private final RowMapper<T> mapper;
-        private final long startTime;
         private final String query;
+        @Nullable
+        private final DatabaseStatement.StatementTimer timer;
+        private final long startTime;
+        private long fetchNanos;
+        private long mapNanos = 0;
+        private long consumeNanos = 0;
+        private long lastReturn;
         private boolean hasNext;
+        private boolean positioned;
+        private boolean closed = false;
+        private int columnCount = -1;
 
         public Iterator(RowMapper<T> mapper, String query) throws SQLException {
+            this(mapper, query, null);
+        }
+
+        public Iterator(RowMapper<T> mapper, String query, @Nullable DatabaseStatement.StatementTimer timer) throws SQLException {
             this.mapper = mapper;
-            this.startTime = System.currentTimeMillis();
             this.query = query;
-            hasNext = resultSet.next();
+            this.timer = timer;
+            this.startTime = System.nanoTime();
+            hasNext = DatabaseResult.this.next();
+            positioned = true;
+            lastReturn = System.nanoTime();
+            fetchNanos = lastReturn - startTime;
+            if (!hasNext) {
+                close();
+            }
         }
 
+        /**
+         * Moves the {@link ResultSet} to the next row only when the caller asks for it, so the
+         * object returned by the previous {@link #next()} can still read from the current row,
+         * as with {@link DatabaseRowView}
+         */
         @Override
         public boolean hasNext() {
+            if (!positioned) {
+                try {
+                    long start = System.nanoTime();
+                    consumeNanos += start - lastReturn;
+                    hasNext = DatabaseResult.this.next();
+                    positioned = true;
+                    lastReturn = System.nanoTime();
+                    fetchNanos += lastReturn - start;
+                    if (!hasNext) {
+                        close();
+                    }
+                } catch (SQLException e) {
+                    throw ExceptionUtil.softenCheckedException(e);
+                }
+            }
             return hasNext;
         }
 
         @Override
         public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
             try {
+                long start = System.nanoTime();
+                consumeNanos += start - lastReturn;
                 T o = mapper.mapRow(row());
-                hasNext = resultSet.next();
-                if (!hasNext) {
-                    logger.debug("time={}s query=\"{}\"", (System.currentTimeMillis()- startTime)/1000.0, query);
-                    close();
-                }
+                positioned = false;
+                lastReturn = System.nanoTime();
+                mapNanos += lastReturn - start;
                 return o;
             } catch (SQLException e) {
                 throw ExceptionUtil.softenCheckedException(e);
             }
         }
 
+        /**
+         * Returns a {@link DatabaseRow} with a copy of the values of the current row, to be mapped later
+         * by another thread. The time spent copying the row is counted as time spent reading rows
+         */
+        DatabaseRow nextSnapshot() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                long start = System.nanoTime();
+                consumeNanos += start - lastReturn;
+                if (columnCount < 0) {
+                    columnCount = resultSet.getMetaData().getColumnCount();
+                }
+                ResultSet snapshot = DatabaseRowSnapshot.snapshot(resultSet, columnCount);
+                positioned = false;
+                lastReturn = System.nanoTime();
+                fetchNanos += lastReturn - start;
+                return new DatabaseRow(snapshot, columnIndexes, tableColumnIndexes, keys);
+            } catch (SQLException e) {
+                throw ExceptionUtil.softenCheckedException(e);
+            }
+        }
+
+        /**
+         * Closes the {@link ResultSet} and {@link PreparedStatement} and reports the number of rows read and
+         * the time spent reading rows, mapping rows and waiting for the consumer. Only the first call has any effect
+         */
         protected void close() throws SQLException {
-            resultSet.close();
-            statement.close();
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                resultSet.close();
+                statement.close();
+            } finally {
+                if (timer != null) {
+                    timer.rows(rowCount);
+                    timer.streamed(fetchNanos, mapNanos, consumeNanos);
+                    timer.reportStreamed();
+                } else {
+                    logger.debug("time={}s rows={} query=\"{}\"", (System.nanoTime() - startTime) / 1_000_000_000.0, rowCount, query);
+                }
+            }
+        }
+
+        private void closeStream() {
+            try {
+                close();
+            } catch (SQLException e) {
+                throw ExceptionUtil.softenCheckedException(e);
+            }
         }
 
         @SuppressWarnings("deprecation")
@@ -1,6 +1,7 @@
 package org.fluentjdbc;
 
 import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -15,9 +16,11 @@ import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -58,13 +61,21 @@ public class DatabaseRow {
     private final Map<String, Integer> columnIndexes;
     private final Map<String, Map<String, Integer>> tableColumnIndexes;
     private final Map<DatabaseTableAlias, Integer> keys;
+    private final TableRows tableRows;
+    @Nullable
+    private Set<String> accessedColumns;
     protected final ResultSet rs;
 
     protected DatabaseRow(ResultSet rs, Map<String, Integer> columnIndexes, Map<String, Map<String, Integer>> tableColumnIndexes, Map<DatabaseTableAlias, Integer> keys) {
+        this(rs, columnIndexes, tableColumnIndexes, keys, new TableRows());
+    }
+
+    private DatabaseRow(ResultSet rs, Map<String, Integer> columnIndexes, Map<String, Map<String, Integer>> tableColumnIndexes, Map<DatabaseTableAlias, Integer> keys, TableRows tableRows) {
         this.rs = rs;
         this.columnIndexes = columnIndexes;
         this.tableColumnIndexes = tableColumnIndexes;
         this.keys = keys;
+        this.tableRows = tableRows;
     }
 
     /**
@@ -257,6 +268,10 @@ public class DatabaseRow {
         return value != null ? Enum.valueOf(enumClass, value) : null;
     }
 
+    Map<String, Integer> getColumnIndexes() {
+        return columnIndexes;
+    }
+
     /**
      * Returns the numeric index of the specified column in the current context. If {@link #table}
      * has been called to specify a table or table alias in a join statement, this method can resolve
@@ -266,10 +281,42 @@ public class DatabaseRow {
      * @throws IllegalArgumentException if the fieldName was not present in the ResultSet
      */
     protected Integer getColumnIndex(String fieldName) {
-        if (!columnIndexes.containsKey(fieldName.toUpperCase())) {
-            throw new IllegalArgumentException("Column {" + fieldName + "} is not present in " + columnIndexes.keySet());
+        String columnName = fieldName.toUpperCase();
+        Integer index = columnIndexes.get(columnName);
+        if (index == null) {
+            throw new MissingColumnException(columnName, "Column {" + fieldName + "} is not present in " + columnIndexes.keySet());
+        }
+        if (accessedColumns != null) {
+            accessedColumns.add(columnName);
+        }
+        return index;
+    }
+
+    /**
+     * Adds the name of every column that is successfully read from this row to accessedColumns, or stops
+     * recording if null
+     */
+    DatabaseRow recordColumns(@Nullable Set<String> accessedColumns) {
+        this.accessedColumns = accessedColumns;
+        return this;
+    }
+
+    /**
+     * Thrown when a column is read which is not part of the query result
+     */
+    static class MissingColumnException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private final String columnName;
+
+        MissingColumnException(String columnName, String message) {
+            super(message);
+            this.columnName = columnName;
+        }
+
+        String getColumnName() {
+            return columnName;
         }
-        return columnIndexes.get(fieldName.toUpperCase());
     }
 
     /**
@@ -295,8 +342,16 @@ public class DatabaseRow {
      *          part of an outer join that didn't return data
      */
     public DatabaseRow table(DatabaseTableAlias alias) throws SQLException {
-        if (keys.containsKey(alias) && rs.getObject(keys.get(alias)) == null) {
-            return null;
+        Integer keyIndex = keys.get(alias);
+        if (keyIndex != null) {
+            Boolean missing = tableRows.missingAliases.get(alias);
+            if (missing == null) {
+                missing = rs.getObject(keyIndex) == null;
+                tableRows.missingAliases.put(alias, missing);
+            }
+            if (missing) {
+                return null;
+            }
         }
         return table(alias.getAlias());
     }
@@ -323,10 +378,34 @@ public class DatabaseRow {
      * clause
      */
     public DatabaseRow table(String table) {
-        Map<String, Integer> columnIndexes = tableColumnIndexes.get(table.toUpperCase());
-        if (columnIndexes == null) {
-            throw new IllegalArgumentException("Unknown table " + table.toUpperCase() + " in " + tableColumnIndexes.keySet());
+        DatabaseRow row = tableRows.rows.get(table);
+        if (row == null) {
+            Map<String, Integer> columnIndexes = tableColumnIndexes.get(table.toUpperCase());
+            if (columnIndexes == null) {
+                throw new IllegalArgumentException("Unknown table " + table.toUpperCase() + " in " + tableColumnIndexes.keySet());
+            }
+            row = new DatabaseRow(rs, columnIndexes, tableColumnIndexes, this.keys, tableRows);
+            tableRows.rows.put(table, row);
+        }
+        return row;
+    }
+
+    /**
+     * Called by {@link DatabaseResult} when the {@link ResultSet} moves to another row, to forget
+     * which outer joined aliases were missing from the previous row
+     */
+    void clearRowCache() {
+        if (!tableRows.missingAliases.isEmpty()) {
+            tableRows.missingAliases.clear();
         }
-        return new DatabaseRow(rs, tableColumnIndexes.get(table.toUpperCase()), tableColumnIndexes, this.keys);
+    }
+
+    /**
+     * The views of a row for each table alias, which are created on first use and shared by all the
+     * rows of a {@link DatabaseResult}, as they always read from the current row of the {@link ResultSet}
+     */
+    private static class TableRows {
+        private final Map<String, DatabaseRow> rows = new HashMap<>();
+        private final Map<DatabaseTableAlias, Boolean> missingAliases = new HashMap<>();
     }
 }
@@ -0,0 +1,184 @@
+package org.fluentjdbc;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * A copy of the values of the current row of a {@link ResultSet}, which can be read as a {@link ResultSet}
+ * after the original has moved to the next row, e.g. by another thread. Used by
+ * {@link DatabaseResult.BatchSpliterator} to map rows of parallel streams outside the thread which reads
+ * the {@link ResultSet}. The values are read with {@link ResultSet#getObject(int)}, and large objects and
+ * arrays are read into memory. The getters used by {@link DatabaseRow} convert the values like
+ * {@link DatabaseRowView#copy()}, all other methods throw {@link SQLFeatureNotSupportedException}
+ */
+class DatabaseRowSnapshot implements InvocationHandler {
+
+    private final Object[] values;
+    private boolean wasNull = false;
+
+    private DatabaseRowSnapshot(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Reads all columns of the current row of the {@link ResultSet}
+     */
+    static ResultSet snapshot(ResultSet resultSet, int columnCount) throws SQLException {
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = copy(resultSet.getObject(i + 1));
+        }
+        return (ResultSet) Proxy.newProxyInstance(
+                DatabaseRowSnapshot.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                new DatabaseRowSnapshot(values)
+        );
+    }
+
+    private static Object copy(@Nullable Object value) throws SQLException {
+        if (value instanceof Blob) {
+            Blob blob = (Blob) value;
+            return blob.getBytes(1, (int) blob.length());
+        } else if (value instanceof Clob) {
+            Clob clob = (Clob) value;
+            return clob.getSubString(1, (int) clob.length());
+        } else if (value instanceof Array) {
+            Object array = ((Array) value).getArray();
+            return Proxy.newProxyInstance(
+                    DatabaseRowSnapshot.class.getClassLoader(),
+                    new Class<?>[]{Array.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("getArray") && method.getParameterCount() == 0) {
+                            return array;
+                        } else if (method.getName().equals("free")) {
+                            return null;
+                        } else if (method.getName().equals("toString")) {
+                            return String.valueOf(array);
+                        }
+                        throw new SQLFeatureNotSupportedException("Array snapshot does not support " + method.getName());
+                    }
+            );
+        }
+        return value;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+        String name = method.getName();
+        if (name.equals("wasNull")) {
+            return wasNull;
+        } else if (name.equals("close")) {
+            return null;
+        } else if (name.equals("isClosed")) {
+            return false;
+        } else if (name.equals("toString") && args == null) {
+            return "DatabaseRowSnapshot";
+        } else if (name.equals("hashCode") && args == null) {
+            return System.identityHashCode(proxy);
+        } else if (name.equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        } else if (args == null || args.length != 1 || !(args[0] instanceof Integer)) {
+            throw new SQLFeatureNotSupportedException("Row snapshot does not support " + name);
+        }
+        Object value = value((Integer) args[0]);
+        switch (name) {
+            case "getObject":
+            case "getArray":
+                return value;
+            case "getString":
+                return value != null ? value.toString() : null;
+            case "getLong":
+                return value instanceof Number ? ((Number) value).longValue() : value != null ? Long.parseLong(value.toString()) : 0L;
+            case "getInt":
+                return value instanceof Number ? ((Number) value).intValue() : value != null ? Integer.parseInt(value.toString()) : 0;
+            case "getDouble":
+                return value instanceof Number ? ((Number) value).doubleValue() : value != null ? Double.parseDouble(value.toString()) : 0.0;
+            case "getBoolean":
+                if (value instanceof Boolean) {
+                    return value;
+                } else if (value instanceof Number) {
+                    return ((Number) value).intValue() != 0;
+                }
+                return value != null && (value.toString().equalsIgnoreCase("true") || value.toString().equals("1"));
+            case "getBigDecimal":
+                return value instanceof BigDecimal ? value : value != null ? new BigDecimal(value.toString()) : null;
+            case "getTimestamp":
+                return toTimestamp(value);
+            case "getDate":
+                return toDate(value);
+            case "getBinaryStream":
+                return value instanceof byte[] ? new ByteArrayInputStream((byte[]) value) : value != null ? new ByteArrayInputStream(value.toString().getBytes()) : null;
+            case "getCharacterStream":
+                return value != null ? new StringReader(value.toString()) : null;
+            default:
+                throw new SQLFeatureNotSupportedException("Row snapshot does not support " + name);
+        }
+    }
+
+    @Nullable
+    private Object value(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex > values.length) {
+            throw new SQLException("Invalid column index " + columnIndex);
+        }
+        Object value = values[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Nullable
+    private static Timestamp toTimestamp(@Nullable Object value) {
+        if (value == null || value instanceof Timestamp) {
+            return (Timestamp) value;
+        } else if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        } else if (value instanceof LocalDate) {
+            return Timestamp.valueOf(((LocalDate) value).atStartOfDay());
+        } else if (value instanceof OffsetDateTime) {
+            return Timestamp.from(((OffsetDateTime) value).toInstant());
+        } else if (value instanceof ZonedDateTime) {
+            return Timestamp.from(((ZonedDateTime) value).toInstant());
+        } else if (value instanceof Instant) {
+            return Timestamp.from((Instant) value);
+        } else if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime());
+        }
+        return Timestamp.valueOf(value.toString());
+    }
+
+    @Nullable
+    private static Date toDate(@Nullable Object value) {
+        if (value == null || value instanceof Date) {
+            return (Date) value;
+        } else if (value instanceof LocalDate) {
+            return Date.valueOf((LocalDate) value);
+        } else if (value instanceof LocalDateTime) {
+            return Date.valueOf(((LocalDateTime) value).toLocalDate());
+        } else if (value instanceof OffsetDateTime) {
+            return Date.valueOf(((OffsetDateTime) value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDate());
+        } else if (value instanceof ZonedDateTime) {
+            return Date.valueOf(((ZonedDateTime) value).withZoneSameInstant(ZoneId.systemDefault()).toLocalDate());
+        } else if (value instanceof java.util.Date) {
+            return Date.valueOf(new Timestamp(((java.util.Date) value).getTime()).toLocalDateTime().toLocalDate());
+        }
+        return Date.valueOf(value.toString());
+    }
+}
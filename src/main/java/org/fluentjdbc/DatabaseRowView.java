@@ -0,0 +1,310 @@
+package org.fluentjdbc;
+
+import org.fluentjdbc.util.ExceptionUtil;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A reusable view of the current row of a query, which reads column values from the {@link java.sql.ResultSet}
+ * only when they are accessed. Use {@link #mapper()} with <code>stream(...)</code> to filter rows on a few
+ * columns without creating an object for every row, and {@link #map(DatabaseResult.RowMapper)} or
+ * {@link #copy()} to keep the rows that pass the filter. Example:
+ *
+ * <pre>
+ * List&lt;Person&gt; adults = table.query().stream(DatabaseRowView.mapper())
+ *      .filter(row -&gt; row.getInt("age") &gt;= 18)
+ *      .map(row -&gt; row.map(Person::new))
+ *      .collect(Collectors.toList());
+ * </pre>
+ *
+ * <p>The same view object is returned for every row and reads from the row the {@link java.sql.ResultSet}
+ * is currently positioned on. It is only valid until the stream moves to the next row, so it must be
+ * consumed in a sequential stream before any operation that buffers elements, such as <code>sorted()</code>,
+ * <code>collect()</code> or parallel processing. Unlike {@link DatabaseRow}, the getters throw
+ * {@link SQLException} as an unchecked exception, so they can be used directly in stream lambdas.</p>
+ */
+@CheckReturnValue
+public class DatabaseRowView {
+
+    @Nullable
+    private DatabaseRow row;
+    @Nullable
+    private final Map<String, Integer> columnIndexes;
+    @Nullable
+    private final Object[] values;
+
+    private DatabaseRowView() {
+        this(null, null);
+    }
+
+    private DatabaseRowView(@Nullable Map<String, Integer> columnIndexes, @Nullable Object[] values) {
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
+
+    /**
+     * Returns a {@link DatabaseResult.RowMapper} which returns the same {@link DatabaseRowView} for every
+     * row, positioned on the current row. Create a new mapper for each query
+     */
+    public static DatabaseResult.RowMapper<DatabaseRowView> mapper() {
+        DatabaseRowView view = new DatabaseRowView();
+        return row -> {
+            view.row = row;
+            return view;
+        };
+    }
+
+    /**
+     * Maps the current row with the mapper, e.g. to create an entity for a row that passed a filter
+     */
+    public <T> T map(DatabaseResult.RowMapper<T> mapper) {
+        try {
+            return mapper.mapRow(currentRow());
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Reads all columns of the current row and returns a {@link DatabaseRowView} with the values
+     * which remains valid after the stream has moved to the next row
+     */
+    public DatabaseRowView copy() {
+        if (values != null) {
+            return this;
+        }
+        DatabaseRow row = currentRow();
+        Map<String, Integer> columnIndexes = row.getColumnIndexes();
+        Object[] values = new Object[columnIndexes.isEmpty() ? 0 : Collections.max(columnIndexes.values()) + 1];
+        try {
+            for (Integer index : columnIndexes.values()) {
+                values[index] = row.rs.getObject(index);
+            }
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+        return new DatabaseRowView(columnIndexes, values);
+    }
+
+    /**
+     * Returns the underlying database-representation for the specified column
+     */
+    @Nullable
+    public Object getObject(String column) {
+        if (values != null) {
+            return value(column);
+        }
+        try {
+            return currentRow().getObject(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as a string
+     */
+    @Nullable
+    public String getString(String column) {
+        if (values != null) {
+            Object value = value(column);
+            return value != null ? value.toString() : null;
+        }
+        try {
+            return currentRow().getString(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the long value of the specified column, or null if the value is null
+     */
+    @Nullable
+    public Long getLong(String column) {
+        if (values != null) {
+            Object value = value(column);
+            return value instanceof Number ? (Long) ((Number) value).longValue() : value != null ? Long.valueOf(value.toString()) : null;
+        }
+        try {
+            return currentRow().getLong(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the Integer value of the specified column, or null if the value is null
+     */
+    @Nullable
+    public Integer getInt(String column) {
+        if (values != null) {
+            Object value = value(column);
+            return value instanceof Number ? (Integer) ((Number) value).intValue() : value != null ? Integer.valueOf(value.toString()) : null;
+        }
+        try {
+            return currentRow().getInt(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the Double value of the specified column, or null if the value is null
+     */
+    @Nullable
+    public Double getDouble(String column) {
+        if (values != null) {
+            Object value = value(column);
+            return value instanceof Number ? (Double) ((Number) value).doubleValue() : value != null ? Double.valueOf(value.toString()) : null;
+        }
+        try {
+            return currentRow().getDouble(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as a boolean. Null is returned as false
+     */
+    public boolean getBoolean(String column) {
+        if (values != null) {
+            Object value = value(column);
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            } else if (value instanceof Number) {
+                return ((Number) value).intValue() != 0;
+            }
+            return value != null && (value.toString().equalsIgnoreCase("true") || value.toString().equals("1"));
+        }
+        try {
+            return currentRow().getBoolean(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as a BigDecimal
+     */
+    @Nullable
+    public BigDecimal getBigDecimal(String column) {
+        if (values != null) {
+            Object value = value(column);
+            return value instanceof BigDecimal ? (BigDecimal) value : value != null ? new BigDecimal(value.toString()) : null;
+        }
+        try {
+            return currentRow().getBigDecimal(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as an Instant
+     */
+    @Nullable
+    public Instant getInstant(String column) {
+        if (values != null) {
+            Object value = value(column);
+            if (value instanceof Timestamp) {
+                return ((Timestamp) value).toInstant();
+            } else if (value instanceof LocalDateTime) {
+                return Timestamp.valueOf((LocalDateTime) value).toInstant();
+            } else if (value instanceof OffsetDateTime) {
+                return ((OffsetDateTime) value).toInstant();
+            } else if (value instanceof ZonedDateTime) {
+                return ((ZonedDateTime) value).toInstant();
+            } else if (value instanceof java.util.Date) {
+                return Instant.ofEpochMilli(((java.util.Date) value).getTime());
+            }
+            return value != null ? Timestamp.valueOf(value.toString()).toInstant() : null;
+        }
+        try {
+            return currentRow().getInstant(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as a LocalDate
+     */
+    @Nullable
+    public LocalDate getLocalDate(String column) {
+        if (values != null) {
+            Object value = value(column);
+            if (value instanceof Date) {
+                return ((Date) value).toLocalDate();
+            } else if (value instanceof LocalDate) {
+                return (LocalDate) value;
+            } else if (value instanceof Timestamp) {
+                return ((Timestamp) value).toLocalDateTime().toLocalDate();
+            } else if (value instanceof LocalDateTime) {
+                return ((LocalDateTime) value).toLocalDate();
+            }
+            return value != null ? LocalDate.parse(value.toString()) : null;
+        }
+        try {
+            return currentRow().getLocalDate(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as a {@link UUID}
+     */
+    @Nullable
+    public UUID getUUID(String column) {
+        if (values != null) {
+            Object value = value(column);
+            return value instanceof UUID ? (UUID) value : value != null ? UUID.fromString(value.toString()) : null;
+        }
+        try {
+            return currentRow().getUUID(column);
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    /**
+     * Returns the value of the specified column as an Enum of the specified type
+     */
+    @Nullable
+    public <T extends Enum<T>> T getEnum(Class<T> enumClass, String column) {
+        String value = getString(column);
+        return value != null ? Enum.valueOf(enumClass, value) : null;
+    }
+
+    private DatabaseRow currentRow() {
+        if (row == null) {
+            throw new IllegalStateException("Row view is not positioned on a row");
+        }
+        return row;
+    }
+
+    private Object value(String column) {
+        //noinspection ConstantConditions
+        Integer index = columnIndexes.get(column.toUpperCase());
+        if (index == null) {
+            throw new IllegalArgumentException("Column {" + column + "} is not present in " + columnIndexes.keySet());
+        }
+        //noinspection ConstantConditions
+        return values[index];
+    }
+}
@@ -83,6 +83,13 @@ public abstract class DatabaseSaveBuilder<T> {
      */
     @Nonnull
     public DatabaseSaveResult<T> execute(@Nonnull Connection connection) {
+        DatabaseSaveResult<T> result = save(connection);
+        table.reportSaveResult(result);
+        return result;
+    }
+
+    @Nonnull
+    private DatabaseSaveResult<T> save(Connection connection) {
         if (this.idValue != null) {
             Optional<List<String>> difference = tableWhereId(this.idValue).singleObject(connection, row -> differingFields(row, connection));
             if (!difference.isPresent()) {
@@ -0,0 +1,68 @@
+package org.fluentjdbc;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * A statement which took longer than the threshold of a {@link DatabaseSlowQueryStatementFactory}.
+ * Contains the SQL, the bound parameters, the timing and, if the factory was configured with
+ * {@link DatabaseSlowQueryStatementFactory#explainWith(javax.sql.DataSource)}, the query plan
+ * as reported by the database.
+ */
+public class DatabaseSlowQuery {
+
+    private final String tableName;
+    private final String operation;
+    private final String sql;
+    private final List<Object> parameters;
+    private final DatabaseQueryTiming timing;
+    @Nullable
+    private final String plan;
+
+    DatabaseSlowQuery(String tableName, String operation, String sql, List<Object> parameters, DatabaseQueryTiming timing, @Nullable String plan) {
+        this.tableName = tableName;
+        this.operation = operation;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.timing = timing;
+        this.plan = plan;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the parameters bound to the statement. Empty for bulk operations
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    public DatabaseQueryTiming getTiming() {
+        return timing;
+    }
+
+    /**
+     * Returns the query plan, with one line per row returned by <code>EXPLAIN</code>, or null
+     * if the plan was not requested, the database is not supported or <code>EXPLAIN</code> failed
+     */
+    @Nullable
+    public String getPlan() {
+        return plan;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{table=" + tableName + ", operation=" + operation
+                + ", time=" + timing.getTotalMillis() + "ms, sql=\"" + sql + "\", parameters=" + parameters + "}";
+    }
+}
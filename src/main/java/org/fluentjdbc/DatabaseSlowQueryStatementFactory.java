@@ -0,0 +1,243 @@
+package org.fluentjdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A {@link DatabaseStatementFactory} which detects statements that take longer than a threshold
+ * and passes them as a {@link DatabaseSlowQuery} to a listener, which by default logs the SQL,
+ * the bound parameters and the query plan at WARN level. All statements are also reported to
+ * the {@link DatabaseReporter} as usual.
+ *
+ * <p>If configured with {@link #explainWith(DataSource)}, the query plan of slow queries is
+ * retrieved with a dialect specific <code>EXPLAIN</code> on a separate connection. PostgreSQL,
+ * MySQL, H2, SQLite and SQL Server (<code>SHOWPLAN_TEXT</code>) are supported. Bulk operations
+ * are not explained, as the parameters of each row are not retained.</p>
+ *
+ * <p>Example:</p>
+ *
+ * <pre>
+ * DbContext context = new DbContext(new DatabaseSlowQueryStatementFactory(reporter, Duration.ofMillis(500))
+ *      .explainWith(dataSource, explainExecutor));
+ * </pre>
+ */
+public class DatabaseSlowQueryStatementFactory extends DatabaseStatementFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSlowQueryStatementFactory.class);
+
+    private static final int EXPLAIN_QUEUE_SIZE = 100;
+
+    private final long thresholdNanos;
+    @Nullable
+    private DataSource explainDataSource;
+    private Executor explainExecutor = Runnable::run;
+    private Consumer<DatabaseSlowQuery> listener = DatabaseSlowQueryStatementFactory::logSlowQuery;
+
+    public DatabaseSlowQueryStatementFactory(Duration threshold) {
+        this(DatabaseReporter.LOGGING_REPORTER, threshold);
+    }
+
+    public DatabaseSlowQueryStatementFactory(DatabaseReporter reporter, Duration threshold) {
+        super(reporter);
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    /**
+     * Retrieve the query plan of slow queries with a connection from the dataSource on a single
+     * background thread, so the query doesn't wait for the plan or for a second connection. At most
+     * {@value #EXPLAIN_QUEUE_SIZE} slow queries wait to be explained. Further slow queries are passed
+     * to the listener without a plan until the queue has room
+     */
+    public DatabaseSlowQueryStatementFactory explainWith(DataSource dataSource) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(EXPLAIN_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fluent-jdbc-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, e) -> ((ExplainTask) runnable).skipPlan()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return explainWith(dataSource, executor);
+    }
+
+    /**
+     * Retrieve the query plan of slow queries with a connection from the dataSource on the
+     * executor. The listener is called on the executor after the plan has been retrieved
+     */
+    public DatabaseSlowQueryStatementFactory explainWith(DataSource dataSource, Executor executor) {
+        this.explainDataSource = dataSource;
+        this.explainExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Called with each slow query instead of logging it
+     */
+    public DatabaseSlowQueryStatementFactory onSlowQuery(Consumer<DatabaseSlowQuery> listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    @Override
+    public DatabaseStatement newStatement(String tableName, String operation, String sql, List<Object> parameters) {
+        return new DatabaseStatement(sql, parameters, new SlowQueryReporter(tableName, operation, parameters, operationReporter(tableName, operation)));
+    }
+
+    private class SlowQueryReporter implements DatabaseTableOperationReporter {
+        private final String tableName;
+        private final String operation;
+        private final List<Object> parameters;
+        private final DatabaseTableOperationReporter delegate;
+
+        private SlowQueryReporter(String tableName, String operation, List<Object> parameters, DatabaseTableOperationReporter delegate) {
+            this.tableName = tableName;
+            this.operation = operation;
+            this.parameters = parameters;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public DatabaseTableOperationReporter startQuery(String query) {
+            return new SlowQueryReporter(tableName, operation, parameters, delegate.startQuery(query));
+        }
+
+        @Override
+        public void reportQuery(String query, long timing) {
+            delegate.reportQuery(query, timing);
+        }
+
+        @Override
+        public void reportQuery(String query, DatabaseQueryTiming timing) {
+            delegate.reportQuery(query, timing);
+            if (timing.getTotalNanos() >= thresholdNanos) {
+                reportSlowQuery(tableName, operation, query, parameters, timing);
+            }
+        }
+    }
+
+    private void reportSlowQuery(String tableName, String operation, String sql, List<Object> parameters, DatabaseQueryTiming timing) {
+        DataSource dataSource = this.explainDataSource;
+        if (dataSource == null || timing.getBatchSize() > 0) {
+            listener.accept(new DatabaseSlowQuery(tableName, operation, sql, parameters, timing, null));
+            return;
+        }
+        explainExecutor.execute(new ExplainTask(dataSource, new DatabaseSlowQuery(tableName, operation, sql, parameters, timing, null)));
+    }
+
+    private class ExplainTask implements Runnable {
+        private final DataSource dataSource;
+        private final DatabaseSlowQuery query;
+
+        private ExplainTask(DataSource dataSource, DatabaseSlowQuery query) {
+            this.dataSource = dataSource;
+            this.query = query;
+        }
+
+        @Override
+        public void run() {
+            String plan = null;
+            try (Connection connection = dataSource.getConnection()) {
+                plan = explain(connection, query.getSql(), query.getParameters());
+            } catch (SQLException e) {
+                logger.debug("Failed to explain {}", query.getSql(), e);
+            }
+            listener.accept(new DatabaseSlowQuery(query.getTableName(), query.getOperation(), query.getSql(), query.getParameters(), query.getTiming(), plan));
+        }
+
+        /**
+         * Called instead of {@link #run()} when the queue of queries to explain is full
+         */
+        void skipPlan() {
+            listener.accept(query);
+        }
+    }
+
+    /**
+     * Returns the query plan for the sql with the parameters in the dialect of the database
+     * of the connection, or null if the database is not supported. Override to support other
+     * databases
+     */
+    @Nullable
+    protected String explain(Connection connection, String sql, List<Object> parameters) throws SQLException {
+        switch (DatabaseDialect.of(connection)) {
+            case POSTGRESQL:
+            case MYSQL:
+            case H2:
+                return readPlan(connection, "EXPLAIN " + sql, parameters);
+            case SQLITE:
+                return readPlan(connection, "EXPLAIN QUERY PLAN " + sql, parameters);
+            case SQL_SERVER:
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SHOWPLAN_TEXT ON");
+                }
+                try {
+                    return readPlan(connection, sql, parameters);
+                } finally {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET SHOWPLAN_TEXT OFF");
+                    }
+                }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Executes the statement and returns all columns of all rows of all result sets,
+     * with one line per row
+     */
+    private static String readPlan(Connection connection, String sql, List<Object> parameters) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            DatabaseStatement.bindParameters(stmt, parameters);
+            boolean hasResultSet = stmt.execute();
+            while (hasResultSet || stmt.getUpdateCount() != -1) {
+                if (hasResultSet) {
+                    try (ResultSet resultSet = stmt.getResultSet()) {
+                        int columnCount = resultSet.getMetaData().getColumnCount();
+                        while (resultSet.next()) {
+                            for (int i = 1; i <= columnCount; i++) {
+                                if (i > 1) {
+                                    plan.append(' ');
+                                }
+                                plan.append(resultSet.getString(i));
+                            }
+                            plan.append('\n');
+                        }
+                    }
+                }
+                hasResultSet = stmt.getMoreResults();
+            }
+        }
+        return plan.toString().trim();
+    }
+
+    private static void logSlowQuery(DatabaseSlowQuery slowQuery) {
+        if (slowQuery.getPlan() != null) {
+            logger.warn("Slow query time={}s table={} operation={} query=\"{}\" parameters={}\n{}",
+                    slowQuery.getTiming().getTotalNanos()/1_000_000_000.0, slowQuery.getTableName(), slowQuery.getOperation(),
+                    slowQuery.getSql(), slowQuery.getParameters(), slowQuery.getPlan());
+        } else {
+            logger.warn("Slow query time={}s table={} operation={} query=\"{}\" parameters={}",
+                    slowQuery.getTiming().getTotalNanos()/1_000_000_000.0, slowQuery.getTableName(), slowQuery.getOperation(),
+                    slowQuery.getSql(), slowQuery.getParameters());
+        }
+    }
+}
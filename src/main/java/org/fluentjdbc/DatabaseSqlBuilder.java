@@ -5,6 +5,7 @@ import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -95,10 +96,12 @@ public class DatabaseSqlBuilder implements DatabaseQueryBuilder<DatabaseSqlBuild
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @Override
     public DatabaseSqlBuilder skipAndLimit(int offset, int rowCount) {
@@ -118,7 +121,7 @@ public class DatabaseSqlBuilder implements DatabaseQueryBuilder<DatabaseSqlBuild
     @Nonnull
     @Override
     public <OBJECT> Optional<OBJECT> singleObject(Connection connection, DatabaseResult.RowMapper<OBJECT> mapper) {
-        return getDatabaseStatement().singleObject(connection, mapper);
+        return createSelect(connection).singleObject(connection, mapper);
     }
 
     /**
@@ -129,7 +132,18 @@ public class DatabaseSqlBuilder implements DatabaseQueryBuilder<DatabaseSqlBuild
      */
     @Override
     public <OBJECT> Stream<OBJECT> stream(@Nonnull Connection connection, DatabaseResult.RowMapper<OBJECT> mapper) {
-        return getDatabaseStatement().stream(connection, mapper);
+        return createSelect(connection).stream(connection, mapper);
+    }
+
+    /**
+     * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a list. Example:
+     * <pre>
+     *     List&lt;Instant&gt; creationTimes = table.where("status", status).list(connection, row -&gt; row.getInstant("created_at"))
+     * </pre>
+     */
+    @Override
+    public <OBJECT> List<OBJECT> list(Connection connection, DatabaseResult.RowMapper<OBJECT> mapper) {
+        return createSelect(connection).list(connection, mapper);
     }
 
     /**
@@ -138,7 +152,7 @@ public class DatabaseSqlBuilder implements DatabaseQueryBuilder<DatabaseSqlBuild
      */
     @Override
     public void forEach(Connection connection, DatabaseResult.RowConsumer consumer) {
-        getDatabaseStatement().forEach(connection, consumer);
+        createSelect(connection).forEach(connection, consumer);
     }
 
     /**
@@ -155,6 +169,34 @@ public class DatabaseSqlBuilder implements DatabaseQueryBuilder<DatabaseSqlBuild
                 .orElseThrow(() -> new RuntimeException("Should never happen"));
     }
 
+    /**
+     * Executes <code>SELECT 1 FROM ... WHERE ...</code> limited to one row and returns true if a row was found
+     */
+    @Override
+    public boolean exists(Connection connection) {
+        String selectStatement = DatabaseDialect.of(connection).existsQuery(
+                " from " + fromStatement
+                + whereBuilder.whereClause()
+                + (groupByClauses.isEmpty() ? "" : " group by " + String.join(", ", groupByClauses))
+        );
+        return factory.newStatement("*", "EXISTS", selectStatement, whereBuilder.getParameters())
+                .singleObject(connection, row -> true)
+                .isPresent();
+    }
+
+    /**
+     * Returns the number of rows the query planner expects the query to return, from <code>EXPLAIN</code>
+     * on PostgreSQL and MySQL, or executes {@link #getCount(Connection)} on other databases
+     */
+    @Override
+    public long estimateCount(Connection connection) {
+        String selectStatement = "select " + String.join(", ", columns)
+                + (" from " + fromStatement)
+                + whereBuilder.whereClause()
+                + (groupByClauses.isEmpty() ? "" : " group by " + String.join(", ", groupByClauses));
+        return DatabaseDialect.estimateCount(connection, selectStatement, whereBuilder.getParameters(), () -> getCount(connection));
+    }
+
     /**
      * Implemented as <code>return this</code> for compatibility purposes
      */
@@ -163,17 +205,38 @@ public class DatabaseSqlBuilder implements DatabaseQueryBuilder<DatabaseSqlBuild
         return this;
     }
 
+    /**
+     * Returns the {@link DatabaseStatement} for the <code>SELECT</code> statement, e.g. to be
+     * executed later or on another connection. As the database is not known, {@link #skipAndLimit(int, int)}
+     * is generated with the SQL:2008 syntax
+     *
+     * @see #createSelect(Connection)
+     */
+    @Nonnull
+    public DatabaseStatement createSelect() {
+        return createSelect(DatabaseDialect.STANDARD);
+    }
+
+    /**
+     * Returns the {@link DatabaseStatement} for the <code>SELECT</code> statement with
+     * {@link #skipAndLimit(int, int)} in the syntax of the database of the connection
+     */
     @Nonnull
-    private DatabaseStatement getDatabaseStatement() {
-        return factory.newStatement("*", "SELECT", createSelectStatement(String.join(", ", columns)), whereBuilder.getParameters());
+    public DatabaseStatement createSelect(Connection connection) {
+        return createSelect(DatabaseDialect.of(connection));
+    }
+
+    private DatabaseStatement createSelect(DatabaseDialect dialect) {
+        List<Object> parameters = new ArrayList<>(whereBuilder.getParameters());
+        return factory.newStatement("*", "SELECT", createSelectStatement(String.join(", ", columns), dialect, parameters), parameters);
     }
 
-    private String createSelectStatement(String columns) {
+    private String createSelectStatement(String columns, DatabaseDialect dialect, List<Object> parameters) {
         return "select " + columns
                 + (" from " + fromStatement)
                 + whereBuilder.whereClause()
                 + (groupByClauses.isEmpty() ? "" : " group by " + String.join(", ", groupByClauses))
                 + (orderByClauses.isEmpty() ? "" : " order by " + String.join(", ", orderByClauses))
-                + (rowCount == null ? "" : " offset " + offset + " rows fetch first " + rowCount + " rows only");
+                + (rowCount == null ? "" : dialect.paginationClause(offset, rowCount, !orderByClauses.isEmpty(), parameters));
     }
 }
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.sql.DataSource;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -23,8 +24,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -55,6 +58,14 @@ public class DatabaseStatement {
         this.reporter = reporter;
     }
 
+    String getStatement() {
+        return statement;
+    }
+
+    List<Object> getParameters() {
+        return parameters;
+    }
+
     /**
      * sets all parameters on the statement, calling {@link #bindParameter(PreparedStatement, int, Object)} to
      * convert each one
@@ -78,7 +89,7 @@ public class DatabaseStatement {
     /**
      * Calls the correct {@link PreparedStatement} <code>setXXX</code> method based on the type of the parameter.
      * Supports {@link Instant}, {@link ZonedDateTime}, {@link OffsetDateTime}, {@link LocalDate}, {@link String},
-     * {@link List} of String or Integer, {@link Enum}, {@link UUID}, {@link Double}
+     * {@link List} of String, Integer, Long or UUID, {@link Enum}, {@link UUID}, {@link Double}
      */
     public static void bindParameter(PreparedStatement stmt, int index, @Nullable Object parameter) throws SQLException {
         if (parameter instanceof Instant) {
@@ -100,8 +111,12 @@ public class DatabaseStatement {
                 stmt.setArray(index, stmt.getConnection().createArrayOf(null, elements));
             } else if (elements[0] instanceof Integer) {
                 stmt.setArray(index, stmt.getConnection().createArrayOf("integer", elements));
+            } else if (elements[0] instanceof Long) {
+                stmt.setArray(index, stmt.getConnection().createArrayOf("bigint", elements));
             } else if (elements[0] instanceof String) {
                 stmt.setArray(index, stmt.getConnection().createArrayOf("varchar", elements));
+            } else if (elements[0] instanceof UUID) {
+                stmt.setArray(index, stmt.getConnection().createArrayOf("uuid", elements));
             } else {
                 throw new IllegalArgumentException("Not supported: Arrays of " + elements[0].getClass());
             }
@@ -183,7 +198,30 @@ public class DatabaseStatement {
      * and executes the statement
      */
     public int executeUpdate(Connection connection) {
-        return execute(connection, PreparedStatement::executeUpdate);
+        return execute(connection, Connection::prepareStatement, (stmt, timer) -> {
+            int count = stmt.executeUpdate();
+            timer.executed();
+            timer.rows(count);
+            return count;
+        });
+    }
+
+    /**
+     * The maximum number of values in one <code>IN (...)</code> list generated by
+     * {@link DatabaseQueryable#whereIn(String, Collection)}. Oracle fails with more than 1000
+     */
+    static final int MAX_IN_LIST_SIZE = 1000;
+
+    /**
+     * Returns the number of parameters to use for an <code>IN (...)</code> list with size values:
+     * the next power of two, but at most {@link #MAX_IN_LIST_SIZE}
+     */
+    static int paddedInListSize(int size) {
+        int padded = Integer.highestOneBit(size);
+        if (padded < size) {
+            padded <<= 1;
+        }
+        return Math.min(padded, MAX_IN_LIST_SIZE);
     }
 
     /**
@@ -234,9 +272,43 @@ public class DatabaseStatement {
      * </pre>
      */
     public <OBJECT> List<OBJECT> list(Connection connection, DatabaseResult.RowMapper<OBJECT> mapper) {
-        return stream(connection, mapper).collect(Collectors.toList());
+        return query(connection, result -> result.list(mapper));
+    }
+
+
+    /**
+     * Like {@link #singleObject(Connection, DatabaseResult.RowMapper)}, but executes the query on
+     * the executor with a new connection from dataSource, which is closed when the query completes
+     */
+    public <T> CompletableFuture<Optional<T>> singleObjectAsync(DataSource dataSource, Executor executor, DatabaseResult.RowMapper<T> mapper) {
+        return async(dataSource, executor, connection -> singleObject(connection, mapper));
+    }
+
+    /**
+     * Like {@link #list(Connection, DatabaseResult.RowMapper)}, but executes the query on
+     * the executor with a new connection from dataSource, which is closed when the query completes
+     */
+    public <OBJECT> CompletableFuture<List<OBJECT>> listAsync(DataSource dataSource, Executor executor, DatabaseResult.RowMapper<OBJECT> mapper) {
+        return async(dataSource, executor, connection -> list(connection, mapper));
     }
 
+    /**
+     * Like {@link #executeUpdate(Connection)}, but executes the statement on the executor with
+     * a new connection from dataSource, which is closed when the statement completes
+     */
+    public CompletableFuture<Integer> executeUpdateAsync(DataSource dataSource, Executor executor) {
+        return async(dataSource, executor, this::executeUpdate);
+    }
+
+    private <T> CompletableFuture<T> async(DataSource dataSource, Executor executor, Function<Connection, T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return operation.apply(connection);
+            } catch (SQLException e) {
+                throw ExceptionUtil.softenCheckedException(e);
+            }
+        }, executor);
+    }
 
     /**
      * Executes the <code>SELECT * FROM ...</code> statement and calls back to
@@ -255,19 +327,42 @@ public class DatabaseStatement {
      * <pre>
      *     table.where("status", status).stream(row -&gt; row.getInstant("created_at"))
      * </pre>
+     *
+     * The statement is reported to the {@link DatabaseTableOperationReporter} with the number of rows
+     * and the time spent reading and mapping rows when the last row has been read or the stream is closed.
      */
     public <OBJECT> Stream<OBJECT> stream(Connection connection, DatabaseResult.RowMapper<OBJECT> mapper) {
-        long startTime = System.currentTimeMillis();
+        return stream(connection, mapper, 0);
+    }
+
+    /**
+     * Like {@link #stream(Connection, DatabaseResult.RowMapper)}, but calls {@link PreparedStatement#setFetchSize(int)}
+     * with the number of rows the driver should read from the database at a time if fetchSize is positive.
+     * Some drivers, like PostgreSQL, only use the fetch size when auto-commit is off
+     */
+    public <OBJECT> Stream<OBJECT> stream(Connection connection, DatabaseResult.RowMapper<OBJECT> mapper, int fetchSize) {
+        StatementTimer timer = new StatementTimer(statement, parameters.size(), reporter);
+        boolean streaming = false;
         try {
             logger.trace(statement);
             PreparedStatement stmt = connection.prepareStatement(statement);
+            if (fetchSize > 0) {
+                stmt.setFetchSize(fetchSize);
+            }
+            timer.prepared();
             bindParameters(stmt, parameters);
+            timer.bound();
             DatabaseResult result = new DatabaseResult(stmt, stmt.executeQuery());
-            return result.stream(mapper, statement);
+            timer.executed();
+            Stream<OBJECT> stream = result.stream(mapper, timer);
+            streaming = true;
+            return stream;
         } catch (SQLException e) {
             throw ExceptionUtil.softenCheckedException(e);
         } finally {
-            reporter.reportQuery(statement, System.currentTimeMillis()-startTime);
+            if (!streaming) {
+                timer.report();
+            }
         }
     }
 
@@ -277,16 +372,7 @@ public class DatabaseStatement {
      * and executes the argument function with the statement
      */
     public <T> T execute(Connection connection, PreparedStatementFunction<T> f) {
-        long startTime = System.currentTimeMillis();
-        logger.trace(statement);
-        try (PreparedStatement stmt = connection.prepareStatement(statement)) {
-            bindParameters(stmt, parameters);
-            return f.apply(stmt);
-        } catch (SQLException e) {
-            throw ExceptionUtil.softenCheckedException(e);
-        } finally {
-            reporter.reportQuery(statement, System.currentTimeMillis()-startTime);
-        }
+        return execute(connection, Connection::prepareStatement, (stmt, timer) -> f.apply(stmt));
     }
 
     /**
@@ -295,24 +381,213 @@ public class DatabaseStatement {
      * and executes the argument function with the statement
      */
     public <T> T execute(Connection connection, PreparedStatementFunction<T> f, String[] columnNames) {
-        long startTime = System.currentTimeMillis();
+        return execute(connection, (c, sql) -> c.prepareStatement(sql, columnNames), (stmt, timer) -> f.apply(stmt));
+    }
+
+    /**
+     * Executes the statement with {@link PreparedStatement#executeQuery()} and calls resultMapper with
+     * the {@link DatabaseResult}. The rows read by resultMapper are reported as the fetch phase
+     * in {@link DatabaseQueryTiming}
+     */
+    public <T> T query(Connection connection, DatabaseResult.DatabaseResultMapper<T> resultMapper) {
+        return query(connection, stmt -> new DatabaseResult(stmt, stmt.executeQuery()), resultMapper);
+    }
+
+    /**
+     * Executes the statement with the specified function to create the {@link DatabaseResult}, for
+     * example to calculate column indexes for joined queries, and calls resultMapper with the result
+     */
+    public <T> T query(Connection connection, PreparedStatementFunction<DatabaseResult> executor, DatabaseResult.DatabaseResultMapper<T> resultMapper) {
+        return execute(connection, Connection::prepareStatement, (stmt, timer) -> {
+            try (DatabaseResult result = executor.apply(stmt)) {
+                timer.executed();
+                T value = resultMapper.apply(result);
+                timer.rows(result.getRowCount());
+                return value;
+            }
+        });
+    }
+
+    /**
+     * Calls {@link Connection#prepareStatement(String)} with the statement, binds the values of each
+     * object with {@link #addBatch(PreparedStatement, Iterable, Collection)} and executes the batch.
+     * The size of the batch and the sum of the update counts are reported to the
+     * {@link DatabaseTableOperationReporter}
+     *
+     * @return the update counts from {@link PreparedStatement#executeBatch()}
+     */
+    public <T> int[] executeBatch(Connection connection, Iterable<T> objects, Collection<Function<T, ?>> columnValueExtractors) {
+        return executeBatch(connection, Connection::prepareStatement, objects, columnValueExtractors, (stmt, counts) -> counts);
+    }
+
+    /**
+     * Calls {@link Connection#prepareStatement(String, String[])} with the statement and generatedKeyColumns,
+     * binds the values of each object with {@link #addBatch(PreparedStatement, Iterable, Collection)},
+     * executes the batch and calls generatedKeysFunction with the statement to read
+     * {@link PreparedStatement#getGeneratedKeys()}
+     */
+    public <T, RESULT> RESULT executeBatch(
+            Connection connection, Iterable<T> objects, Collection<Function<T, ?>> columnValueExtractors,
+            String[] generatedKeyColumns, PreparedStatementFunction<RESULT> generatedKeysFunction
+    ) {
+        return executeBatch(
+                connection, (c, sql) -> c.prepareStatement(sql, generatedKeyColumns), objects, columnValueExtractors,
+                (stmt, counts) -> generatedKeysFunction.apply(stmt)
+        );
+    }
+
+    private <T, RESULT> RESULT executeBatch(
+            Connection connection, StatementPreparer preparer, Iterable<T> objects, Collection<Function<T, ?>> columnValueExtractors,
+            BatchResultFunction<RESULT> resultFunction
+    ) {
+        return execute(connection, preparer, (stmt, timer) -> {
+            int batchSize = 0;
+            for (T object : objects) {
+                int columnIndex = 1;
+                for (Function<T, ?> f : columnValueExtractors) {
+                    bindParameter(stmt, columnIndex++, f.apply(object));
+                }
+                stmt.addBatch();
+                batchSize++;
+            }
+            timer.batch(columnValueExtractors.size(), batchSize);
+        }, (stmt, timer) -> {
+            int[] counts = stmt.executeBatch();
+            timer.executed();
+            timer.rows(IntStream.of(counts).filter(count -> count >= 0).sum());
+            return resultFunction.apply(stmt, counts);
+        });
+    }
+
+    @FunctionalInterface
+    private interface BatchResultFunction<RESULT> {
+        RESULT apply(PreparedStatement stmt, int[] counts) throws SQLException;
+    }
+
+    private <T> T execute(Connection connection, StatementPreparer preparer, TimedStatementFunction<T> f) {
+        return execute(connection, preparer, (stmt, timer) -> bindParameters(stmt, parameters), f);
+    }
+
+    private <T> T execute(Connection connection, StatementPreparer preparer, StatementBinder binder, TimedStatementFunction<T> f) {
+        StatementTimer timer = new StatementTimer(statement, parameters.size(), reporter);
         logger.trace(statement);
-        try (PreparedStatement stmt = connection.prepareStatement(statement, columnNames)) {
-            bindParameters(stmt, parameters);
-            return f.apply(stmt);
+        try (PreparedStatement stmt = preparer.prepare(connection, statement)) {
+            timer.prepared();
+            binder.bind(stmt, timer);
+            timer.bound();
+            return f.apply(stmt, timer);
         } catch (SQLException e) {
             throw ExceptionUtil.softenCheckedException(e);
         } finally {
-            reporter.reportQuery(statement, System.currentTimeMillis()-startTime);
+            timer.report();
         }
     }
 
-    public <T> T query(Connection connection, DatabaseResult.DatabaseResultMapper<T> resultMapper) {
-        return execute(connection, stmt -> {
-            try (DatabaseResult result = new DatabaseResult(stmt, stmt.executeQuery())) {
-                return resultMapper.apply(result);
+    @FunctionalInterface
+    private interface StatementPreparer {
+        PreparedStatement prepare(Connection connection, String statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement stmt, StatementTimer timer) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface TimedStatementFunction<T> {
+        T apply(PreparedStatement stmt, StatementTimer timer) throws SQLException;
+    }
+
+    /**
+     * Measures the phases of a statement execution with {@link System#nanoTime()}. Time that
+     * is not explicitly marked, such as closing the statement, is added to the current phase.
+     * Used by {@link DatabaseResult} to report streamed queries when the stream completes
+     */
+    static class StatementTimer {
+        private static final int PREPARE = 0, BIND = 1, EXECUTE = 2, FETCH = 3;
+
+        private final String statement;
+        private final DatabaseTableOperationReporter reporter;
+        private int parameterCount;
+        private int batchSize = 0;
+        private final long[] phaseNanos = new long[4];
+        private int phase = PREPARE;
+        private long lastMark = System.nanoTime();
+        private long mapNanos = 0;
+        private long consumeNanos = 0;
+        private long rowCount = -1;
+        private boolean reported = false;
+
+        StatementTimer(String statement, int parameterCount, DatabaseTableOperationReporter reporter) {
+            this.statement = statement;
+            this.parameterCount = parameterCount;
+            this.reporter = reporter.startQuery(statement);
+        }
+
+        String getStatement() {
+            return statement;
+        }
+
+        void prepared() {
+            endPhase(PREPARE);
+        }
+
+        void bound() {
+            endPhase(BIND);
+        }
+
+        void executed() {
+            endPhase(EXECUTE);
+        }
+
+        void rows(long rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        void batch(int parameterCount, int batchSize) {
+            this.parameterCount = parameterCount;
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * Adds the time reading rows, mapping rows and waiting for the consumer of a streamed query
+         */
+        void streamed(long fetchNanos, long mapNanos, long consumeNanos) {
+            this.phaseNanos[FETCH] += fetchNanos;
+            this.mapNanos += mapNanos;
+            this.consumeNanos += consumeNanos;
+        }
+
+        private void endPhase(int phase) {
+            long now = System.nanoTime();
+            phaseNanos[phase] += now - lastMark;
+            lastMark = now;
+            this.phase = phase + 1;
+        }
+
+        /**
+         * Reports the timing to the {@link DatabaseTableOperationReporter}. Only the first call has any effect
+         */
+        void report() {
+            if (reported) {
+                return;
             }
-        });
+            reported = true;
+            phaseNanos[phase] += System.nanoTime() - lastMark;
+            reporter.reportQuery(statement, new DatabaseQueryTiming(
+                    phaseNanos[PREPARE], phaseNanos[BIND], phaseNanos[EXECUTE], phaseNanos[FETCH], mapNanos, consumeNanos,
+                    rowCount, parameterCount, batchSize
+            ));
+        }
+
+        /**
+         * Like {@link #report()}, but doesn't count the time since the last phase. Used when the
+         * time since the last phase has been counted by {@link #streamed(long, long, long)}
+         */
+        void reportStreamed() {
+            lastMark = System.nanoTime();
+            report();
+        }
     }
 
 }
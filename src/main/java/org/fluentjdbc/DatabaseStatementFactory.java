@@ -5,10 +5,9 @@ import java.util.List;
 
 /**
  * Controls the creation of {@link DatabaseStatement} objects, which allows for fine custom interception
- * that affects all database operations.
- *
- * <p><strong>Currently not used for the bulk operations {@link DatabaseBulkDeleteBuilder},
- * {@link DatabaseBulkUpdatable}, {@link DatabaseBulkInsertBuilder} and {@link DbContext} variations of these</strong></p>
+ * that affects all database operations, including the bulk operations {@link DatabaseBulkDeleteBuilder},
+ * {@link DatabaseBulkUpdateBuilder}, {@link DatabaseBulkInsertBuilder}, which are reported with the operations
+ * <code>BULK_DELETE</code>, <code>BULK_UPDATE</code> and <code>BULK_INSERT</code>.
  */
 public class DatabaseStatementFactory {
 
@@ -24,6 +23,25 @@ public class DatabaseStatementFactory {
      * and the parameters are bound with {@link DatabaseStatement#bindParameter(PreparedStatement, int, Object)}
      */
     public DatabaseStatement newStatement(String tableName, String operation, String sql, List<Object> parameters) {
-        return new DatabaseStatement(sql, parameters, reporter.table(tableName).operation(operation));
+        return new DatabaseStatement(sql, parameters, operationReporter(tableName, operation));
+    }
+
+    /**
+     * Reports the result of a {@link DatabaseSaveBuilder} to the <code>SAVE</code> operation for the table
+     *
+     * @see DatabaseTableOperationReporter#reportSaveResult(DatabaseSaveResult)
+     */
+    public void reportSaveResult(String tableName, DatabaseSaveResult<?> result) {
+        operationReporter(tableName, "SAVE").reportSaveResult(result);
+    }
+
+    /**
+     * Returns the {@link DatabaseTableOperationReporter} for the operation on the table. The reporter is
+     * asked for every statement, so reporters can choose the operation reporter per call. Reporters which
+     * return the same operation reporter every time, such as
+     * {@link org.fluentjdbc.opt.metrics.MetricsDatabaseReporter}, cache it themselves
+     */
+    protected DatabaseTableOperationReporter operationReporter(String tableName, String operation) {
+        return reporter.table(tableName).operation(operation);
     }
 }
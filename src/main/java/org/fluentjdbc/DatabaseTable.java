@@ -182,4 +182,13 @@ public interface DatabaseTable extends DatabaseQueryable<DatabaseTableQueryBuild
     }
 
     DatabaseStatement newStatement(String operation, String sql, List<Object> parameters);
+
+    /**
+     * Reports the result of a {@link DatabaseSaveBuilder} on this table to the {@link DatabaseReporter}.
+     * Does nothing by default
+     *
+     * @see DatabaseTableOperationReporter#reportSaveResult(DatabaseSaveResult)
+     */
+    default void reportSaveResult(DatabaseSaveResult<?> result) {
+    }
 }
@@ -220,4 +220,9 @@ public class DatabaseTableImpl implements DatabaseTable {
     public DatabaseStatement newStatement(String operation, String sql, List<Object> parameters) {
         return factory.newStatement(tableName, operation, sql, parameters);
     }
+
+    @Override
+    public void reportSaveResult(DatabaseSaveResult<?> result) {
+        factory.reportSaveResult(tableName, result);
+    }
 }
@@ -12,8 +12,17 @@ import org.slf4j.LoggerFactory;
 public interface DatabaseTableOperationReporter {
     Logger logger = LoggerFactory.getLogger(DatabaseTableOperationReporter.class);
 
-    DatabaseTableOperationReporter LOGGING_OPERATION_REPORTER =
-            (query, timing) -> logger.debug("time={}s query=\"{}\"", timing/1000.0, query);
+    DatabaseTableOperationReporter LOGGING_OPERATION_REPORTER = new DatabaseTableOperationReporter() {
+        @Override
+        public void reportQuery(String query, long timing) {
+            logger.debug("time={}s query=\"{}\"", timing/1000.0, query);
+        }
+
+        @Override
+        public void reportQuery(String query, DatabaseQueryTiming timing) {
+            logger.debug("time={}s rows={} query=\"{}\"", timing.getTotalNanos()/1_000_000_000.0, timing.getRowCount(), query);
+        }
+    };
 
     /**
      * Called when the operation is performed on the table
@@ -21,4 +30,34 @@ public interface DatabaseTableOperationReporter {
      * @param timing The duration the query took in millis
      */
     void reportQuery(String query, long timing);
+
+    /**
+     * Called when the operation is performed on the table with nanosecond timing for each phase
+     * of the statement execution. Override to get more precise timing than
+     * {@link #reportQuery(String, long)}. Defaults to calling {@link #reportQuery(String, long)}
+     * with the total time in millis
+     *
+     * @param query The parameterized SQL query that was executed to the database
+     * @param timing The duration of each phase of the query and the number of rows
+     */
+    default void reportQuery(String query, DatabaseQueryTiming timing) {
+        reportQuery(query, timing.getTotalMillis());
+    }
+
+    /**
+     * Called when a statement starts, before it is prepared. Returns the reporter which receives
+     * {@link #reportQuery(String, DatabaseQueryTiming)} when the statement completes. Override to
+     * keep state for each statement, such as the start of a tracing span. Returns this by default
+     */
+    default DatabaseTableOperationReporter startQuery(String query) {
+        return this;
+    }
+
+    /**
+     * Called with the result of {@link DatabaseSaveBuilder#execute(java.sql.Connection)} on the
+     * <code>SAVE</code> operation. The <code>SELECT</code>, <code>INSERT</code> and <code>UPDATE</code>
+     * statements executed by the save are reported separately. Does nothing by default
+     */
+    default void reportSaveResult(DatabaseSaveResult<?> result) {
+    }
 }
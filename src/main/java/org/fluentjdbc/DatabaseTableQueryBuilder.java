@@ -1,12 +1,30 @@
 package org.fluentjdbc;
 
+import org.fluentjdbc.util.ExceptionUtil;
+
+import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.sql.DataSource;
+import java.math.BigInteger;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -32,6 +50,11 @@ public class DatabaseTableQueryBuilder implements
     protected final List<String> orderByClauses = new ArrayList<>();
     protected Integer offset;
     protected Integer rowCount;
+    private final List<String> columns = new ArrayList<>();
+    private boolean narrowColumns = false;
+
+    private static final int MAX_NARROWED_QUERIES = 1000;
+    private static final Map<String, Set<String>> narrowedColumns = new ConcurrentHashMap<>();
 
     DatabaseTableQueryBuilder(DatabaseTable table) {
         this.table = table;
@@ -48,6 +71,27 @@ public class DatabaseTableQueryBuilder implements
                 .orElseThrow(() -> new RuntimeException("Should never happen"));
     }
 
+    /**
+     * Executes <code>SELECT 1 FROM ... WHERE ...</code> limited to one row and returns true if a row was found
+     */
+    @Override
+    public boolean exists(Connection connection) {
+        String statement = DatabaseDialect.of(connection).existsQuery(fromClause() + whereClause.whereClause());
+        return table.newStatement("EXISTS", statement, whereClause.getParameters())
+                .singleObject(connection, row -> true)
+                .isPresent();
+    }
+
+    /**
+     * Returns the number of rows the query planner expects the query to return, from <code>EXPLAIN</code>
+     * on PostgreSQL and MySQL, or executes {@link #getCount(Connection)} on other databases
+     */
+    @Override
+    public long estimateCount(Connection connection) {
+        String statement = "select *" + fromClause() + whereClause.whereClause();
+        return DatabaseDialect.estimateCount(connection, statement, whereClause.getParameters(), () -> getCount(connection));
+    }
+
     /**
      * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a stream. Example:
      * <pre>
@@ -56,7 +100,21 @@ public class DatabaseTableQueryBuilder implements
      */
     @Override
     public <T> Stream<T> stream(Connection connection, DatabaseResult.RowMapper<T> mapper) {
-        return createSelect().stream(connection, mapper);
+        return createSelect(connection).stream(connection, mapper);
+    }
+
+    /**
+     * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a list. Example:
+     * <pre>
+     *     List&lt;Instant&gt; creationTimes = table.where("status", status).list(connection, row -&gt; row.getInstant("created_at"))
+     * </pre>
+     */
+    @Override
+    public <T> List<T> list(Connection connection, DatabaseResult.RowMapper<T> mapper) {
+        if (narrowColumns && columns.isEmpty()) {
+            return narrowed(connection, mapper, (statement, recordingMapper) -> statement.list(connection, recordingMapper));
+        }
+        return createSelect(connection).list(connection, mapper);
     }
 
     /**
@@ -65,11 +123,102 @@ public class DatabaseTableQueryBuilder implements
      */
     @Override
     public void forEach(Connection connection, DatabaseResult.RowConsumer consumer) {
-        createSelect().forEach(connection, consumer);
+        createSelect(connection).forEach(connection, consumer);
     }
 
+    /**
+     * Returns the <code>SELECT</code> statement for this query without executing it. As the database
+     * is not known, {@link #skipAndLimit(int, int)} is generated with the SQL:2008
+     * <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> syntax
+     *
+     * @see #createSelect(Connection)
+     */
     public DatabaseStatement createSelect() {
-        return table.newStatement("SELECT", createSelectStatement(), whereClause.getParameters());
+        return createSelect(DatabaseDialect.STANDARD, selectList());
+    }
+
+    /**
+     * Returns the <code>SELECT</code> statement for this query without executing it, with
+     * {@link #skipAndLimit(int, int)} in the syntax of the database of the connection
+     */
+    public DatabaseStatement createSelect(Connection connection) {
+        return createSelect(DatabaseDialect.of(connection), selectList());
+    }
+
+    private DatabaseStatement createSelect(DatabaseDialect dialect, String selectList) {
+        List<Object> parameters = new ArrayList<>(whereClause.getParameters());
+        return table.newStatement("SELECT", createSelectStatement(selectList, dialect, parameters), parameters);
+    }
+
+    private String selectList() {
+        return columns.isEmpty() ? "*" : String.join(", ", columns);
+    }
+
+    /**
+     * Selects only the specified columns instead of <code>select *</code>, so that wide columns which
+     * are not used are not read from the database, and the database can answer the query from an
+     * index which includes all the columns
+     */
+    @CheckReturnValue
+    public DatabaseTableQueryBuilder columns(String... columns) {
+        this.columns.addAll(Arrays.asList(columns));
+        return this;
+    }
+
+    /**
+     * Executes {@link #list} and {@link #singleObject} with <code>select *</code> the first time, records
+     * which columns the {@link DatabaseResult.RowMapper} reads, and selects only these columns the next
+     * time the same query is executed with a mapper from the same class on the same database, catalog
+     * and schema. If the mapper later reads
+     * another column, the query is executed again with <code>select *</code> and the columns are
+     * recorded again, so the mapper should not have side effects. {@link #stream} and {@link #forEach}
+     * always use <code>select *</code>
+     */
+    @CheckReturnValue
+    public DatabaseTableQueryBuilder narrowColumns() {
+        this.narrowColumns = true;
+        return this;
+    }
+
+    private <OBJECT, RESULT> RESULT narrowed(Connection connection, DatabaseResult.RowMapper<OBJECT> mapper, NarrowedQuery<OBJECT, RESULT> query) {
+        DatabaseDialect dialect = DatabaseDialect.of(connection);
+        String key;
+        try {
+            key = connection.getMetaData().getURL() + "|" + connection.getCatalog() + "|" + connection.getSchema() + "|"
+                    + createSelectStatement("*", dialect, new ArrayList<>()) + "|" + mapper.getClass().getName();
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+        Set<String> columns = narrowedColumns.get(key);
+        while (true) {
+            Set<String> accessedColumns = new LinkedHashSet<>();
+            if (columns != null) {
+                accessedColumns.addAll(columns);
+            }
+            DatabaseStatement statement = createSelect(dialect, columns != null ? String.join(", ", columns) : "*");
+            try {
+                RESULT result = query.apply(statement, row -> mapper.mapRow(row.recordColumns(accessedColumns)));
+                if (columns == null && !accessedColumns.isEmpty()) {
+                    if (narrowedColumns.size() >= MAX_NARROWED_QUERIES) {
+                        narrowedColumns.clear();
+                    }
+                    narrowedColumns.put(key, accessedColumns);
+                }
+                return result;
+            } catch (DatabaseRow.MissingColumnException e) {
+                if (columns == null) {
+                    throw e;
+                }
+                // Only select * tells if the column exists, so record the columns again from select *
+                narrowedColumns.remove(key);
+                columns = null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface NarrowedQuery<OBJECT, RESULT> {
+        RESULT apply(DatabaseStatement statement, DatabaseResult.RowMapper<OBJECT> mapper);
     }
 
     /**
@@ -84,7 +233,10 @@ public class DatabaseTableQueryBuilder implements
     @Nonnull
     @Override
     public <T> Optional<T> singleObject(Connection connection, DatabaseResult.RowMapper<T> mapper) {
-        return createSelect().singleObject(connection, mapper);
+        if (narrowColumns && columns.isEmpty()) {
+            return narrowed(connection, mapper, (statement, recordingMapper) -> statement.singleObject(connection, recordingMapper));
+        }
+        return createSelect(connection).singleObject(connection, mapper);
     }
 
     /**
@@ -97,6 +249,18 @@ public class DatabaseTableQueryBuilder implements
         return this;
     }
 
+    /**
+     * Adds <code>WHERE fieldName IN (...)</code> for a large number of keys. Depending on the number of
+     * keys and the database of the connection, the keys are bound as a single array parameter
+     * (PostgreSQL and H2), inserted into a temporary table on the connection (SQL Server, MySQL
+     * and SQLite) or used with {@link #whereIn(String, Collection)}. The query must be executed
+     * with the same connection.
+     */
+    @CheckReturnValue
+    public DatabaseTableQueryBuilder whereInLarge(Connection connection, String fieldName, Collection<?> keys) {
+        return DatabaseLargeKeySet.whereIn(this, table, connection, fieldName, keys);
+    }
+
     /**
      * Creates a {@link DatabaseUpdateBuilder} object to fluently generate a <code>UPDATE ...</code> statement
      */
@@ -132,10 +296,12 @@ public class DatabaseTableQueryBuilder implements
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @Override
     public DatabaseTableQueryBuilder skipAndLimit(int offset, int rowCount) {
@@ -144,6 +310,249 @@ public class DatabaseTableQueryBuilder implements
         return this;
     }
 
+    /**
+     * Adds <code>WHERE (column1 &gt; ? OR (column1 = ? AND column2 &gt; ?))</code> and <code>ORDER BY column1, column2</code>
+     * to the query to return the rows after the specified values. Unlike {@link #skipAndLimit(int, int)},
+     * the database can use an index on the columns to find the first row, so the cost of retrieving
+     * a page doesn't increase with the number of rows before it. The columns must be non-null and unique
+     * together.
+     *
+     * @see #pageAfter(Connection, List, String, int, DatabaseResult.RowMapper)
+     */
+    @CheckReturnValue
+    public DatabaseTableQueryBuilder after(List<String> columns, List<?> values) {
+        if (!orderByClauses.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination can't be combined with orderBy " + orderByClauses);
+        }
+        if (columns.size() != values.size()) {
+            throw new IllegalArgumentException("Column and value lists must have same length: " + columns + " != " + values);
+        }
+        List<Object> parameters = new ArrayList<>();
+        //noinspection ResultOfMethodCallIgnored
+        whereExpressionWithParameterList(DatabaseKeysetCursor.condition(columns, values, parameters), parameters);
+        orderByClauses.addAll(columns);
+        return this;
+    }
+
+    /**
+     * Returns up to pageSize rows ordered by keyColumns, starting after the row identified by cursor,
+     * or from the first row if cursor is null. {@link DatabasePage#getNextCursor()} identifies the last
+     * row in the page and is null when there are no more rows. The keyColumns must be non-null and
+     * unique together. The keyset conditions are applied to a copy of this query, so the query can
+     * be reused for the next page. Example:
+     *
+     * <pre>
+     * DatabasePage&lt;Person&gt; page = table.where("status", status)
+     *      .pageAfter(connection, Arrays.asList("last_name", "id"), cursor, 50, Person::new);
+     * </pre>
+     *
+     * @see #after(List, List)
+     */
+    @CheckReturnValue
+    public <T> DatabasePage<T> pageAfter(Connection connection, List<String> keyColumns, @Nullable String cursor, int pageSize, DatabaseResult.RowMapper<T> mapper) {
+        if (!orderByClauses.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination can't be combined with orderBy " + orderByClauses);
+        }
+        DatabasePage.Collector<T> collector = new DatabasePage.Collector<>(pageSize, mapper, row -> {
+            List<Object> keys = new ArrayList<>();
+            for (String column : keyColumns) {
+                keys.add(row.getObject(column));
+            }
+            return keys;
+        });
+        DatabaseTableQueryBuilder page = copy();
+        if (cursor != null) {
+            //noinspection ResultOfMethodCallIgnored
+            page.after(keyColumns, DatabaseKeysetCursor.decode(cursor));
+        } else {
+            page.orderByClauses.addAll(keyColumns);
+        }
+        //noinspection ResultOfMethodCallIgnored
+        page.skipAndLimit(0, pageSize + 1);
+        page.forEach(connection, collector);
+        return collector.getPage();
+    }
+
+    private DatabaseTableQueryBuilder copy() {
+        DatabaseTableQueryBuilder copy = new DatabaseTableQueryBuilder(table);
+        copy.whereClause.addAll(whereClause);
+        copy.orderByClauses.addAll(orderByClauses);
+        copy.offset = offset;
+        copy.rowCount = rowCount;
+        copy.columns.addAll(columns);
+        copy.narrowColumns = narrowColumns;
+        return copy;
+    }
+
+    /**
+     * Like {@link #parallelStream(DataSource, String, int, Executor, DatabaseResult.RowMapper)}, but
+     * executes the chunks on a new thread pool with one daemon thread per chunk
+     */
+    @CheckReturnValue
+    public <T> Stream<T> parallelStream(DataSource dataSource, String keyColumn, int chunks, DatabaseResult.RowMapper<T> mapper) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(chunks, runnable -> {
+            Thread thread = new Thread(runnable, "fluent-jdbc-parallel-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return parallelStream(dataSource, keyColumn, chunks, executor, mapper);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Splits the query into chunks by ranges of the numeric keyColumn between
+     * <code>min(keyColumn)</code> and <code>max(keyColumn)</code> and executes each chunk
+     * on a separate connection from dataSource on the executor. The mapper is called on
+     * the executor threads. Returns a parallel stream of all rows in keyColumn order, which
+     * splits between chunks. The chunks are read while the stream is consumed, and each chunk
+     * waits for the stream when it has read {@value DatabaseResult#STREAM_BATCH_SIZE} rows
+     * ahead, so results which don't fit in memory can be streamed. The executor must be able
+     * to run all the chunks at the same time. Close the stream if it is not read to the end,
+     * to release the connections.
+     *
+     * <p>As each chunk uses a separate connection, the chunks will not see uncommitted
+     * changes and may see changes committed while the query is executing</p>
+     *
+     * @throws IllegalStateException if {@link #orderBy} or {@link #skipAndLimit} has been called,
+     * as the chunks are always ordered by keyColumn
+     */
+    @CheckReturnValue
+    public <T> Stream<T> parallelStream(DataSource dataSource, String keyColumn, int chunks, Executor executor, DatabaseResult.RowMapper<T> mapper) {
+        KeyRanges keyRanges = keyRanges(dataSource, keyColumn, chunks);
+        List<DatabaseParallelStream.ChunkReader<T>> readers = new ArrayList<>();
+        for (long[] range : keyRanges.ranges) {
+            readers.add(rows -> inRange(dataSource, keyColumn, range, (connection, statement) -> {
+                statement.forEach(connection, row -> rows.accept(mapper.mapRow(row)));
+                return null;
+            }));
+        }
+        return DatabaseParallelStream.stream(readers, keyRanges.rowCount, executor);
+    }
+
+    /**
+     * Like {@link #forEachParallel(DataSource, String, int, Executor, DatabaseResult.RowConsumer)}, but
+     * executes the chunks on a new thread pool with one thread per chunk
+     */
+    public void forEachParallel(DataSource dataSource, String keyColumn, int chunks, DatabaseResult.RowConsumer consumer) {
+        ExecutorService executor = Executors.newFixedThreadPool(chunks);
+        try {
+            forEachParallel(dataSource, keyColumn, chunks, executor, consumer);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Splits the query into chunks by ranges of the numeric keyColumn between
+     * <code>min(keyColumn)</code> and <code>max(keyColumn)</code> and executes each chunk
+     * on a separate connection from dataSource on the executor, calling the consumer
+     * concurrently from the executor threads as rows are read. The consumer must be thread-safe.
+     * Returns when all chunks have been read
+     *
+     * @throws IllegalStateException if {@link #orderBy} or {@link #skipAndLimit} has been called,
+     * as the chunks are always ordered by keyColumn
+     */
+    public void forEachParallel(DataSource dataSource, String keyColumn, int chunks, Executor executor, DatabaseResult.RowConsumer consumer) {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (long[] range : keyRanges(dataSource, keyColumn, chunks).ranges) {
+            results.add(CompletableFuture.runAsync(
+                    () -> inRange(dataSource, keyColumn, range, (connection, statement) -> {
+                        statement.forEach(connection, consumer);
+                        return null;
+                    }),
+                    executor
+            ));
+        }
+        results.forEach(DatabaseTableQueryBuilder::join);
+    }
+
+    /**
+     * Returns up to <code>chunks</code> inclusive ranges of equal width between
+     * <code>min(keyColumn)</code> and <code>max(keyColumn)</code> of the rows matching the query,
+     * and the number of matching rows
+     */
+    private KeyRanges keyRanges(DataSource dataSource, String keyColumn, int chunks) {
+        if (chunks < 1) {
+            throw new IllegalArgumentException("chunks must be positive, was " + chunks);
+        }
+        if (!orderByClauses.isEmpty() || rowCount != null) {
+            throw new IllegalStateException("Parallel queries are ordered by the key column and can't be combined with orderBy or skipAndLimit");
+        }
+        String statement = "select min(" + keyColumn + ") as min_key, max(" + keyColumn + ") as max_key, count(*) as row_count"
+                + fromClause() + whereClause.whereClause();
+        Long[] minMax;
+        try (Connection connection = dataSource.getConnection()) {
+            minMax = table.newStatement("SELECT", statement, whereClause.getParameters())
+                    .singleObject(connection, row -> new Long[] { row.getLong("min_key"), row.getLong("max_key"), row.getLong("row_count") })
+                    .orElseThrow(() -> new RuntimeException("Should never happen"));
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+        List<long[]> ranges = new ArrayList<>();
+        if (minMax[0] == null) {
+            return new KeyRanges(ranges, 0);
+        }
+        // BigInteger, as max - min overflows a long when the keys span more than Long.MAX_VALUE
+        BigInteger min = BigInteger.valueOf(minMax[0]);
+        BigInteger size = BigInteger.valueOf(minMax[1]).subtract(min).add(BigInteger.ONE);
+        BigInteger chunkCount = BigInteger.valueOf(chunks);
+        for (int i = 0; i < chunks; i++) {
+            BigInteger start = min.add(size.multiply(BigInteger.valueOf(i)).divide(chunkCount));
+            BigInteger end = min.add(size.multiply(BigInteger.valueOf(i + 1)).divide(chunkCount)).subtract(BigInteger.ONE);
+            if (start.compareTo(end) <= 0) {
+                ranges.add(new long[] { start.longValueExact(), end.longValueExact() });
+            }
+        }
+        return new KeyRanges(ranges, minMax[2]);
+    }
+
+    private static class KeyRanges {
+        private final List<long[]> ranges;
+        private final long rowCount;
+
+        private KeyRanges(List<long[]> ranges, long rowCount) {
+            this.ranges = ranges;
+            this.rowCount = rowCount;
+        }
+    }
+
+    private <T> T inRange(DataSource dataSource, String keyColumn, long[] range, RangeQuery<T> query) {
+        String where = whereClause.whereClause();
+        String statement = "select " + selectList() + fromClause()
+                + (where.isEmpty() ? " where " : where + " and ") + keyColumn + " >= ? and " + keyColumn + " <= ?"
+                + " order by " + keyColumn;
+        List<Object> parameters = new ArrayList<>(whereClause.getParameters());
+        parameters.add(range[0]);
+        parameters.add(range[1]);
+        try (Connection connection = dataSource.getConnection()) {
+            return query.apply(connection, table.newStatement("SELECT", statement, parameters));
+        } catch (SQLException e) {
+            throw ExceptionUtil.softenCheckedException(e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeQuery<T> {
+        T apply(Connection connection, DatabaseStatement statement);
+    }
+
     /**
      * Implemented as <code>return this</code> for compatibility purposes
      */
@@ -152,8 +561,8 @@ public class DatabaseTableQueryBuilder implements
         return this;
     }
 
-    private String createSelectStatement() {
-        return "select *" + fromClause() + whereClause.whereClause() + orderByClause() + fetchClause();
+    private String createSelectStatement(String selectList, DatabaseDialect dialect, List<Object> parameters) {
+        return "select " + selectList + fromClause() + whereClause.whereClause() + orderByClause() + paginationClause(dialect, parameters);
     }
 
     protected String fromClause() {
@@ -164,8 +573,8 @@ public class DatabaseTableQueryBuilder implements
         return orderByClauses.isEmpty() ? "" : " order by " + String.join(", ", orderByClauses);
     }
 
-    private String fetchClause() {
-        return rowCount == null ? "" : " offset " + offset + " rows fetch first " + rowCount + " rows only";
+    private String paginationClause(DatabaseDialect dialect, List<Object> parameters) {
+        return rowCount == null ? "" : dialect.paginationClause(offset, rowCount, !orderByClauses.isEmpty(), parameters);
     }
 
 }
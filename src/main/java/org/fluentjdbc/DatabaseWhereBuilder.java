@@ -45,6 +45,14 @@ public class DatabaseWhereBuilder implements DatabaseQueryable<DatabaseWhereBuil
         return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
     }
 
+    /**
+     * Adds all the conditions and parameters of the other builder to this builder
+     */
+    void addAll(DatabaseWhereBuilder other) {
+        conditions.addAll(other.conditions);
+        parameters.addAll(other.parameters);
+    }
+
     /**
      * Returns all parameters added with <code>.whereXXX()</code> method calls
      */
@@ -12,6 +12,11 @@ import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * <p>Provides a starting point for for context oriented database operation. Create one DbContext for your
@@ -43,13 +48,25 @@ public class DbContext {
     private static final Logger logger = LoggerFactory.getLogger(DbContext.class);
 
     private final DatabaseStatementFactory factory;
+    private final Executor asyncExecutor;
 
     public DbContext() {
         this(new DatabaseStatementFactory(DatabaseReporter.LOGGING_REPORTER));
     }
 
     public DbContext(DatabaseStatementFactory factory) {
+        this(factory, DefaultAsyncExecutor.INSTANCE);
+    }
+
+    /**
+     * Creates a DbContext which executes {@link #async(DataSource, Supplier)} operations,
+     * such as {@link DbContextListableSelect#listAsync(DataSource, DatabaseResult.RowMapper)}, on the
+     * specified executor. By default, uses virtual threads when running on Java 21 or later and
+     * otherwise a cached pool of daemon threads
+     */
+    public DbContext(DatabaseStatementFactory factory, Executor asyncExecutor) {
         this.factory = factory;
+        this.asyncExecutor = asyncExecutor;
     }
 
     /**
@@ -71,6 +88,22 @@ public class DbContext {
         return new DbContextStatement(this, statement, parameters);
     }
 
+    /**
+     * Collects several independent queries to be executed in one round trip to the database
+     * with multiple result sets where supported, and one after the other otherwise. Example:
+     *
+     * <pre>
+     * DbContextQueryBatch batch = dbContext.batchQueries();
+     * DatabaseQueryBatch.Result&lt;Order&gt; orders = batch.add(orderTable.where("customer_id", id), Order::new);
+     * DatabaseQueryBatch.Result&lt;Customer&gt; customer = batch.add(customerTable.where("id", id), Customer::new);
+     * batch.execute();
+     * </pre>
+     */
+    @CheckReturnValue
+    public DbContextQueryBatch batchQueries() {
+        return new DbContextQueryBatch(this);
+    }
+
     public DatabaseStatementFactory getStatementFactory() {
         return factory;
     }
@@ -149,6 +182,27 @@ public class DbContext {
         return currentConnection.get();
     }
 
+    /**
+     * Executes the operation on the async executor of this DbContext with a new connection from
+     * the dataSource, which is closed when the operation completes. Use this to execute independent
+     * queries concurrently. As each operation uses its own connection, it will not see
+     * uncommitted changes from the current thread. Example:
+     *
+     * <pre>
+     * CompletableFuture&lt;List&lt;Order&gt;&gt; orders = context.async(dataSource, () -&gt; orderRepository.listOrders(customerId));
+     * CompletableFuture&lt;Optional&lt;Customer&gt;&gt; customer = customersTable.where("id", customerId).singleObjectAsync(dataSource, Customer::new);
+     * </pre>
+     */
+    @CheckReturnValue
+    @SuppressWarnings("try")
+    public <T> CompletableFuture<T> async(DataSource dataSource, Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (DbContextConnection ignored = startConnection(dataSource)) {
+                return operation.get();
+            }
+        }, asyncExecutor);
+    }
+
     /**
      * Returns the connection associated with the current thread or throws exception if
      * {@link #startConnection(DataSource)} has not been called yet
@@ -305,6 +359,27 @@ public class DbContext {
 
     }
 
+    /**
+     * Virtual threads if supported by the JVM, otherwise a cached pool of daemon threads.
+     * Initialized on first use
+     */
+    private static class DefaultAsyncExecutor {
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                AtomicInteger threadNumber = new AtomicInteger();
+                return Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "fluent-jdbc-async-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
     /**
      * Functional interface used to populate the query. Called on when a retrieved value is not in
      * the cache. Like {@link java.util.function.Function}, but returns {@link Optional}
@@ -0,0 +1,112 @@
+package org.fluentjdbc;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Loads parent rows together with their child rows from another table with two queries: the parent
+ * query and one child query with <code>WHERE foreignKey IN (...)</code> over the keys of all the parents
+ * (see {@link DbContextSelectBuilder#whereInLarge(String, Collection)}). The children are grouped by
+ * foreign key in memory. This avoids both a query per parent and a join which repeats the parent
+ * columns for every child row. Create with
+ * {@link DbContextSelectBuilder#fetchChildren(String, DbContextTable, String, DatabaseResult.RowMapper)}.
+ *
+ * <h3>Example:</h3>
+ *
+ * <pre>
+ * List&lt;Order&gt; orders = orderTable.where("customer_id", customerId)
+ *      .fetchChildren("id", orderLineTable, "order_id", OrderLine::new)
+ *      .orderChildrenBy("line_number")
+ *      .list(Order::new, Order::setLines);
+ * </pre>
+ *
+ * Integer keys are compared as {@link Long}, so the parent key and the foreign key may have different
+ * integer column types.
+ */
+public class DbContextChildrenBuilder<CHILD> {
+
+    private final DbContextSelectBuilder parentQuery;
+    private final String parentKey;
+    private final DbContextTable childTable;
+    private final String foreignKey;
+    private final DatabaseResult.RowMapper<CHILD> childMapper;
+    @Nullable
+    private String childOrderBy;
+
+    public DbContextChildrenBuilder(DbContextSelectBuilder parentQuery, String parentKey, DbContextTable childTable, String foreignKey, DatabaseResult.RowMapper<CHILD> childMapper) {
+        this.parentQuery = parentQuery;
+        this.parentKey = parentKey;
+        this.childTable = childTable;
+        this.foreignKey = foreignKey;
+        this.childMapper = childMapper;
+    }
+
+    /**
+     * Adds <code>ORDER BY ...</code> to the child query, which decides the order of each list of children
+     */
+    @CheckReturnValue
+    public DbContextChildrenBuilder<CHILD> orderChildrenBy(String orderByClause) {
+        this.childOrderBy = orderByClause;
+        return this;
+    }
+
+    /**
+     * Executes the parent query and maps each row with parentMapper, then executes the child query and
+     * calls childrenSetter with each parent and a modifiable list of its children, which is empty
+     * for parents without children
+     */
+    public <PARENT> List<PARENT> list(DatabaseResult.RowMapper<PARENT> parentMapper, BiConsumer<PARENT, List<CHILD>> childrenSetter) {
+        List<Object> keys = new ArrayList<>();
+        List<PARENT> parents = parentQuery.list(row -> {
+            keys.add(toKey(row.getObject(parentKey)));
+            return parentMapper.mapRow(row);
+        });
+        Map<Object, List<CHILD>> children = fetchChildren(keys);
+        for (int i = 0; i < parents.size(); i++) {
+            List<CHILD> parentChildren = children.get(keys.get(i));
+            childrenSetter.accept(parents.get(i), parentChildren != null ? parentChildren : new ArrayList<>());
+        }
+        return parents;
+    }
+
+    /**
+     * Executes the child query for the specified parent keys and returns the children grouped by foreign
+     * key. Parents without children are not included in the result
+     */
+    @CheckReturnValue
+    public Map<Object, List<CHILD>> fetchChildren(Collection<?> parentKeys) {
+        Map<Object, List<CHILD>> result = new HashMap<>();
+        LinkedHashSet<Object> keys = new LinkedHashSet<>();
+        for (Object key : parentKeys) {
+            if (key != null) {
+                keys.add(toKey(key));
+            }
+        }
+        if (keys.isEmpty()) {
+            return result;
+        }
+        DbContextSelectBuilder childQuery = childTable.query().whereInLarge(foreignKey, keys);
+        if (childOrderBy != null) {
+            childQuery = childQuery.orderBy(childOrderBy);
+        }
+        childQuery.forEach(row -> result
+                .computeIfAbsent(toKey(row.getObject(foreignKey)), k -> new ArrayList<>())
+                .add(childMapper.mapRow(row)));
+        return result;
+    }
+
+    @Nullable
+    private static Object toKey(@Nullable Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+}
@@ -102,6 +102,23 @@ public class DbContextJoinedSelectBuilder implements DbContextListableSelect<DbC
         return builder.getCount(getConnection());
     }
 
+    /**
+     * Returns true if the query matches at least one row, using <code>SELECT 1 ...</code> limited to one row
+     */
+    @Override
+    public boolean exists() {
+        return builder.exists(getConnection());
+    }
+
+    /**
+     * Returns the number of rows the query planner of the database expects the query to return,
+     * or the exact count for databases that don't provide an estimate
+     */
+    @Override
+    public long estimateCount() {
+        return builder.estimateCount(getConnection());
+    }
+
     /**
      * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a stream. Example:
      *
@@ -132,6 +149,27 @@ public class DbContextJoinedSelectBuilder implements DbContextListableSelect<DbC
         return builder.list(getConnection(), mapper);
     }
 
+    /**
+     * Execute the query and map each distinct parent only once for a one-to-many join, identifying
+     * parents by parentKey. Each row is passed to childConsumer with its parent. Example:
+     *
+     * <pre>
+     *     List&lt;Order&gt; orders = o.join(o.column("id"), l.column("order_id"))
+     *          .orderBy(o.column("id"))
+     *          .listDistinct(o.column("id"), Order::new,
+     *              (order, row) -&gt; order.getLines().add(new OrderLine(row.table(l))));
+     * </pre>
+     *
+     * @see DatabaseJoinedQueryBuilder#listDistinct
+     */
+    public <OBJECT> List<OBJECT> listDistinct(
+            DatabaseColumnReference parentKey,
+            DatabaseResult.RowMapper<OBJECT> parentMapper,
+            DatabaseResult.ChildRowConsumer<OBJECT> childConsumer
+    ) {
+        return builder.listDistinct(getConnection(), parentKey, parentMapper, childConsumer);
+    }
+
     /**
      * Executes the <code>SELECT * FROM ...</code> statement and calls back to
      * {@link DatabaseResult.RowConsumer} for each returned row
@@ -213,16 +251,60 @@ public class DbContextJoinedSelectBuilder implements DbContextListableSelect<DbC
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Selects only the specified columns instead of <code>select *</code>
+     *
+     * @see DatabaseJoinedQueryBuilder#columns(DatabaseColumnReference...)
+     */
+    @CheckReturnValue
+    public DbContextJoinedSelectBuilder columns(DatabaseColumnReference... columns) {
+        return query(builder.columns(columns));
+    }
+
+    /**
+     * Selects every column explicitly as <code>select p.id as p__id, ...</code> instead of <code>select *</code>,
+     * for drivers which don't report the table name of each column in the result
+     *
+     * @see DatabaseJoinedQueryBuilder#explicitColumns()
+     */
+    @CheckReturnValue
+    public DbContextJoinedSelectBuilder explicitColumns() {
+        return query(builder.explicitColumns());
+    }
+
+    /**
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @Override
     public DbContextJoinedSelectBuilder skipAndLimit(int offset, int rowCount) {
         return query(builder.skipAndLimit(offset, rowCount));
     }
 
+    /**
+     * Adds <code>WHERE (a.column1 &gt; ? OR (a.column1 = ? AND b.column2 &gt; ?))</code> and <code>ORDER BY a.column1, b.column2</code>
+     * to the query to return the rows after the specified values.
+     *
+     * @see DatabaseJoinedQueryBuilder#after(List, List)
+     */
+    public DbContextJoinedSelectBuilder after(List<DatabaseColumnReference> columns, List<?> values) {
+        return query(builder.after(columns, values));
+    }
+
+    /**
+     * Returns up to pageSize rows ordered by keyColumns, starting after the row identified by cursor,
+     * or from the first row if cursor is null. Pass {@link DatabasePage#getNextCursor()} to retrieve the
+     * next page.
+     *
+     * @see DatabaseJoinedQueryBuilder#pageAfter(Connection, List, String, int, DatabaseResult.RowMapper)
+     */
+    public <T> DatabasePage<T> pageAfter(List<DatabaseColumnReference> keyColumns, @Nullable String cursor, int pageSize, DatabaseResult.RowMapper<T> mapper) {
+        return builder.pageAfter(getConnection(), keyColumns, cursor, pageSize, mapper);
+    }
+
     /**
      * Adds an <code>order by</code> clause to the query. Needed in order to list results
      * in a predictable order.
@@ -235,6 +317,14 @@ public class DbContextJoinedSelectBuilder implements DbContextListableSelect<DbC
         return this;
     }
 
+    /**
+     * Returns the {@link DbContext} which provides the connection for the query
+     */
+    @Override
+    public DbContext getDbContext() {
+        return table.getDbContext();
+    }
+
     private Connection getConnection() {
         return table.getDbContext().getThreadConnection();
     }
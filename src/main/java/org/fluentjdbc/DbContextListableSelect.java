@@ -2,11 +2,14 @@ package org.fluentjdbc;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.sql.DataSource;
 import java.io.InputStream;
 import java.io.Reader;
+import java.sql.Connection;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 
@@ -22,6 +25,13 @@ import java.util.stream.Stream;
  */
 public interface DbContextListableSelect<T extends DbContextListableSelect<T>> extends DatabaseQueryable<T> {
 
+    /**
+     * Returns the {@link DbContext} which provides the connection for the query. Used by the
+     * <code>...Async</code> methods
+     */
+    @CheckReturnValue
+    DbContext getDbContext();
+
     /**
      * Adds <code>ORDER BY ...</code> clause to the <code>SELECT</code> statement
      */
@@ -34,6 +44,27 @@ public interface DbContextListableSelect<T extends DbContextListableSelect<T>> e
     @CheckReturnValue
     int getCount();
 
+    /**
+     * Returns true if the query matches at least one row
+     *
+     * @see DatabaseListableQueryBuilder#exists(Connection)
+     */
+    @CheckReturnValue
+    default boolean exists() {
+        return getCount() > 0;
+    }
+
+    /**
+     * Returns the number of rows the query planner of the database expects the query to return,
+     * or the exact count for databases that don't provide an estimate
+     *
+     * @see DatabaseListableQueryBuilder#estimateCount(Connection)
+     */
+    @CheckReturnValue
+    default long estimateCount() {
+        return getCount();
+    }
+
     /**
      * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a stream. Example:
      * <pre>
@@ -52,6 +83,33 @@ public interface DbContextListableSelect<T extends DbContextListableSelect<T>> e
     @CheckReturnValue
     <OBJECT> List<OBJECT> list(DatabaseResult.RowMapper<OBJECT> mapper);
 
+    /**
+     * Like {@link #list(DatabaseResult.RowMapper)}, but executes the query with a new connection from
+     * dataSource on the async executor of the {@link DbContext}
+     *
+     * @see DbContext#async(DataSource, java.util.function.Supplier)
+     */
+    @CheckReturnValue
+    default <OBJECT> CompletableFuture<List<OBJECT>> listAsync(DataSource dataSource, DatabaseResult.RowMapper<OBJECT> mapper) {
+        return getDbContext().async(dataSource, () -> list(mapper));
+    }
+
+    /**
+     * Execute the query and read the result into one primitive array per column instead of one object
+     * per row, which is more compact for large results and fast to aggregate. Example:
+     * <pre>
+     *     double total = Arrays.stream(orders.where("year", year).toColumns().getDoubles("amount")).sum();
+     * </pre>
+     *
+     * @see DatabaseColumns
+     */
+    @CheckReturnValue
+    default DatabaseColumns toColumns() {
+        DatabaseColumns.Reader reader = new DatabaseColumns.Reader();
+        forEach(reader);
+        return reader.build();
+    }
+
     /**
      * Executes <code>SELECT fieldName FROM ...</code> on the query and returns the result as a list
      */
@@ -80,6 +138,17 @@ public interface DbContextListableSelect<T extends DbContextListableSelect<T>> e
     @CheckReturnValue
     <OBJECT> Optional<OBJECT> singleObject(DatabaseResult.RowMapper<OBJECT> mapper);
 
+    /**
+     * Like {@link #singleObject(DatabaseResult.RowMapper)}, but executes the query with a new connection
+     * from dataSource on the async executor of the {@link DbContext}
+     *
+     * @see DbContext#async(DataSource, java.util.function.Supplier)
+     */
+    @CheckReturnValue
+    default <OBJECT> CompletableFuture<Optional<OBJECT>> singleObjectAsync(DataSource dataSource, DatabaseResult.RowMapper<OBJECT> mapper) {
+        return getDbContext().async(dataSource, () -> singleObject(mapper));
+    }
+
     /**
      * Returns a string from the specified column name
      *
@@ -155,10 +224,12 @@ public interface DbContextListableSelect<T extends DbContextListableSelect<T>> e
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @CheckReturnValue
     T skipAndLimit(int offset, int rowCount);
@@ -0,0 +1,55 @@
+package org.fluentjdbc;
+
+import javax.annotation.CheckReturnValue;
+
+/**
+ * Executes several independent queries in one round trip to the database where supported.
+ * Create with {@link DbContext#batchQueries()}. See {@link DatabaseQueryBatch} for details.
+ *
+ * <h3>Example</h3>
+ *
+ * <pre>
+ * DbContextQueryBatch batch = dbContext.batchQueries();
+ * DatabaseQueryBatch.Result&lt;Order&gt; orders = batch.add(orderTable.where("customer_id", id), Order::new);
+ * DatabaseQueryBatch.Result&lt;Customer&gt; customer = batch.add(customerTable.where("id", id), Customer::new);
+ * batch.execute();
+ * show(customer.single().orElseThrow(NotFoundException::new), orders.get());
+ * </pre>
+ */
+public class DbContextQueryBatch {
+
+    private final DbContext dbContext;
+    private final DatabaseQueryBatch batch;
+
+    public DbContextQueryBatch(DbContext dbContext) {
+        this(dbContext, new DatabaseQueryBatch(dbContext.getStatementFactory()));
+    }
+
+    public DbContextQueryBatch(DbContext dbContext, DatabaseQueryBatch batch) {
+        this.dbContext = dbContext;
+        this.batch = batch;
+    }
+
+    /**
+     * Adds the query to the batch. The rows are mapped with mapper when the batch is executed
+     */
+    @CheckReturnValue
+    public <T> DatabaseQueryBatch.Result<T> add(DbContextSelectBuilder query, DatabaseResult.RowMapper<T> mapper) {
+        return batch.add(query.createSelect(dbContext.getThreadConnection()), mapper);
+    }
+
+    /**
+     * Adds the query to the batch. The rows are mapped with mapper when the batch is executed
+     */
+    @CheckReturnValue
+    public <T> DatabaseQueryBatch.Result<T> add(DbContextSqlBuilder query, DatabaseResult.RowMapper<T> mapper) {
+        return batch.add(query.createSelect(dbContext.getThreadConnection()), mapper);
+    }
+
+    /**
+     * Executes all queries in the batch with the connection of the {@link DbContext}
+     */
+    public void execute() {
+        batch.execute(dbContext.getThreadConnection());
+    }
+}
@@ -2,6 +2,8 @@ package org.fluentjdbc;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
@@ -75,16 +77,118 @@ public class DbContextSelectBuilder implements DbContextListableSelect<DbContext
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @Override
     public DbContextSelectBuilder skipAndLimit(int offset, int rowCount) {
         return query(queryBuilder.skipAndLimit(offset, rowCount));
     }
 
+    /**
+     * Selects only the specified columns instead of <code>select *</code>
+     *
+     * @see DatabaseTableQueryBuilder#columns(String...)
+     */
+    @CheckReturnValue
+    public DbContextSelectBuilder columns(String... columns) {
+        return query(queryBuilder.columns(columns));
+    }
+
+    /**
+     * Records which columns the mapper reads the first time the query is executed with
+     * {@link #list} or {@link #singleObject}, and selects only these columns on later executions
+     *
+     * @see DatabaseTableQueryBuilder#narrowColumns()
+     */
+    @CheckReturnValue
+    public DbContextSelectBuilder narrowColumns() {
+        return query(queryBuilder.narrowColumns());
+    }
+
+    /**
+     * Adds <code>WHERE fieldName IN (...)</code> for a large number of keys, using an array parameter
+     * or a temporary table on the connection of the {@link DbContext} where supported
+     *
+     * @see DatabaseTableQueryBuilder#whereInLarge(Connection, String, Collection)
+     */
+    @CheckReturnValue
+    public DbContextSelectBuilder whereInLarge(String fieldName, Collection<?> keys) {
+        return query(queryBuilder.whereInLarge(getConnection(), fieldName, keys));
+    }
+
+    /**
+     * Loads the children of each row of this query from childTable with one extra query over the
+     * parentKey values of all the rows, matched to childTable's foreignKey. Example:
+     *
+     * <pre>
+     * List&lt;Order&gt; orders = orderTable.where("customer_id", customerId)
+     *      .fetchChildren("id", orderLineTable, "order_id", OrderLine::new)
+     *      .list(Order::new, Order::setLines);
+     * </pre>
+     *
+     * @see DbContextChildrenBuilder
+     */
+    @CheckReturnValue
+    public <CHILD> DbContextChildrenBuilder<CHILD> fetchChildren(String parentKey, DbContextTable childTable, String foreignKey, DatabaseResult.RowMapper<CHILD> childMapper) {
+        return new DbContextChildrenBuilder<>(this, parentKey, childTable, foreignKey, childMapper);
+    }
+
+    /**
+     * Adds <code>WHERE (column1 &gt; ? OR (column1 = ? AND column2 &gt; ?))</code> and <code>ORDER BY column1, column2</code>
+     * to the query to return the rows after the specified values.
+     *
+     * @see DatabaseTableQueryBuilder#after(List, List)
+     */
+    @CheckReturnValue
+    public DbContextSelectBuilder after(List<String> columns, List<?> values) {
+        return query(queryBuilder.after(columns, values));
+    }
+
+    /**
+     * Returns up to pageSize rows ordered by keyColumns, starting after the row identified by cursor,
+     * or from the first row if cursor is null. Pass {@link DatabasePage#getNextCursor()} to retrieve the
+     * next page. Example:
+     *
+     * <pre>
+     * DatabasePage&lt;Person&gt; page = table.where("status", status)
+     *      .pageAfter(Arrays.asList("last_name", "id"), cursor, 50, Person::new);
+     * </pre>
+     *
+     * @see DatabaseTableQueryBuilder#pageAfter(Connection, List, String, int, DatabaseResult.RowMapper)
+     */
+    @CheckReturnValue
+    public <T> DatabasePage<T> pageAfter(List<String> keyColumns, @Nullable String cursor, int pageSize, DatabaseResult.RowMapper<T> mapper) {
+        return queryBuilder.pageAfter(getConnection(), keyColumns, cursor, pageSize, mapper);
+    }
+
+    /**
+     * Splits the query into chunks by ranges of the numeric keyColumn and executes each chunk on a
+     * separate connection from dataSource in parallel. Returns a parallel stream of all rows in
+     * keyColumn order. All rows are read before the method returns
+     *
+     * @see DatabaseTableQueryBuilder#parallelStream(DataSource, String, int, java.util.concurrent.Executor, DatabaseResult.RowMapper)
+     */
+    @CheckReturnValue
+    public <T> Stream<T> parallelStream(DataSource dataSource, String keyColumn, int chunks, DatabaseResult.RowMapper<T> mapper) {
+        return queryBuilder.parallelStream(dataSource, keyColumn, chunks, mapper);
+    }
+
+    /**
+     * Splits the query into chunks by ranges of the numeric keyColumn and executes each chunk on a
+     * separate connection from dataSource in parallel, calling the thread-safe consumer concurrently
+     * as rows are read
+     *
+     * @see DatabaseTableQueryBuilder#forEachParallel(DataSource, String, int, java.util.concurrent.Executor, DatabaseResult.RowConsumer)
+     */
+    public void forEachParallel(DataSource dataSource, String keyColumn, int chunks, DatabaseResult.RowConsumer consumer) {
+        queryBuilder.forEachParallel(dataSource, keyColumn, chunks, consumer);
+    }
+
     /**
      * Executes <code>DELETE FROM tableName WHERE ....</code>
      */
@@ -92,6 +196,27 @@ public class DbContextSelectBuilder implements DbContextListableSelect<DbContext
         return queryBuilder.delete(getConnection());
     }
 
+    /**
+     * Returns the <code>SELECT</code> statement for this query without executing it, for example
+     * to read the result with {@link org.fluentjdbc.opt.flow.DatabaseResultPublisher}. As the database
+     * is not known, {@link #skipAndLimit(int, int)} is generated with the SQL:2008 syntax
+     *
+     * @see #createSelect(Connection)
+     */
+    @CheckReturnValue
+    public DatabaseStatement createSelect() {
+        return queryBuilder.createSelect();
+    }
+
+    /**
+     * Returns the <code>SELECT</code> statement for this query without executing it, with
+     * {@link #skipAndLimit(int, int)} in the syntax of the database of the connection
+     */
+    @CheckReturnValue
+    public DatabaseStatement createSelect(Connection connection) {
+        return queryBuilder.createSelect(connection);
+    }
+
     /**
      * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a stream. Example:
      * <pre>
@@ -122,6 +247,23 @@ public class DbContextSelectBuilder implements DbContextListableSelect<DbContext
         return queryBuilder.getCount(getConnection());
     }
 
+    /**
+     * Returns true if the query matches at least one row, using <code>SELECT 1 ...</code> limited to one row
+     */
+    @Override
+    public boolean exists() {
+        return queryBuilder.exists(getConnection());
+    }
+
+    /**
+     * Returns the number of rows the query planner of the database expects the query to return,
+     * or the exact count for databases that don't provide an estimate
+     */
+    @Override
+    public long estimateCount() {
+        return queryBuilder.estimateCount(getConnection());
+    }
+
     /**
      * If the query returns no rows, returns {@link Optional#empty()}, if exactly one row is returned, maps it and return it,
      * if more than one is returned, throws `IllegalStateException`
@@ -165,6 +307,14 @@ public class DbContextSelectBuilder implements DbContextListableSelect<DbContext
         return new DbContextUpdateBuilder(this.dbContextTable, queryBuilder.update());
     }
 
+    /**
+     * Returns the {@link DbContext} which provides the connection for the query
+     */
+    @Override
+    public DbContext getDbContext() {
+        return dbContextTable.getDbContext();
+    }
+
     @CheckReturnValue
     private Connection getConnection() {
         return dbContextTable.getConnection();
@@ -95,16 +95,39 @@ public class DbContextSqlBuilder implements DbContextListableSelect<DbContextSql
     }
 
     /**
-     * Adds <code>OFFSET ... ROWS FETCH ... ROWS ONLY</code> clause to the <code>SELECT</code>
-     * statement. FETCH FIRST was introduced in
+     * Adds <code>OFFSET ? ROWS FETCH FIRST ? ROWS ONLY</code> clause to the <code>SELECT</code>
+     * statement, with offset and rowCount as parameters so the same statement is reused for every page.
+     * FETCH FIRST was introduced in
      * <a href="https://en.wikipedia.org/wiki/Select_%28SQL%29#Limiting_result_rows">SQL:2008</a>
-     * and is supported by Postgresql 8.4, Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012.
+     * and is supported by Oracle 12c, IBM DB2, HSQLDB, H2, and SQL Server 2012. PostgreSQL,
+     * MySQL and SQLite use <code>LIMIT ? OFFSET ?</code> instead.
      */
     @Override
     public DbContextSqlBuilder skipAndLimit(int offset, int rowCount) {
         return query(builder.skipAndLimit(offset, rowCount));
     }
 
+    /**
+     * Returns the <code>SELECT</code> statement for this query without executing it, for example
+     * to read the result with {@link org.fluentjdbc.opt.flow.DatabaseResultPublisher}. As the database
+     * is not known, {@link #skipAndLimit(int, int)} is generated with the SQL:2008 syntax
+     *
+     * @see #createSelect(Connection)
+     */
+    @CheckReturnValue
+    public DatabaseStatement createSelect() {
+        return builder.createSelect();
+    }
+
+    /**
+     * Returns the <code>SELECT</code> statement for this query without executing it, with
+     * {@link #skipAndLimit(int, int)} in the syntax of the database of the connection
+     */
+    @CheckReturnValue
+    public DatabaseStatement createSelect(Connection connection) {
+        return builder.createSelect(connection);
+    }
+
     /**
      * Execute the query and map each return value over the {@link DatabaseResult.RowMapper} function to return a stream. Example:
      * <pre>
@@ -135,6 +158,23 @@ public class DbContextSqlBuilder implements DbContextListableSelect<DbContextSql
         return builder.getCount(getConnection());
     }
 
+    /**
+     * Returns true if the query matches at least one row, using <code>SELECT 1 ...</code> limited to one row
+     */
+    @Override
+    public boolean exists() {
+        return builder.exists(getConnection());
+    }
+
+    /**
+     * Returns the number of rows the query planner of the database expects the query to return,
+     * or the exact count for databases that don't provide an estimate
+     */
+    @Override
+    public long estimateCount() {
+        return builder.estimateCount(getConnection());
+    }
+
     /**
      * If the query returns no rows, returns {@link Optional#empty()}, if exactly one row is returned, maps it and return it,
      * if more than one is returned, throws `IllegalStateException`
@@ -167,4 +207,12 @@ public class DbContextSqlBuilder implements DbContextListableSelect<DbContextSql
     private Connection getConnection() {
         return dbContext.getThreadConnection();
     }
+
+    /**
+     * Returns the {@link DbContext} which provides the connection for the query
+     */
+    @Override
+    public DbContext getDbContext() {
+        return dbContext;
+    }
 }
@@ -2,10 +2,12 @@ package org.fluentjdbc;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,6 +68,39 @@ public class DbContextStatement {
         return stream(mapper).collect(Collectors.toList());
     }
 
+    /**
+     * Like {@link #singleObject(DatabaseResult.RowMapper)}, but executes the query with a new connection
+     * from dataSource on the async executor of the {@link DbContext}
+     *
+     * @see DbContext#async(DataSource, java.util.function.Supplier)
+     */
+    @CheckReturnValue
+    public <OBJECT> CompletableFuture<Optional<OBJECT>> singleObjectAsync(DataSource dataSource, DatabaseResult.RowMapper<OBJECT> mapper) {
+        return dbContext.async(dataSource, () -> singleObject(mapper));
+    }
+
+    /**
+     * Like {@link #list(DatabaseResult.RowMapper)}, but executes the query with a new connection
+     * from dataSource on the async executor of the {@link DbContext}
+     *
+     * @see DbContext#async(DataSource, java.util.function.Supplier)
+     */
+    @CheckReturnValue
+    public <OBJECT> CompletableFuture<List<OBJECT>> listAsync(DataSource dataSource, DatabaseResult.RowMapper<OBJECT> mapper) {
+        return dbContext.async(dataSource, () -> list(mapper));
+    }
+
+    /**
+     * Executes the statement with a new connection from dataSource on the async executor of
+     * the {@link DbContext} and returns the update count
+     *
+     * @see DbContext#async(DataSource, java.util.function.Supplier)
+     */
+    @CheckReturnValue
+    public CompletableFuture<Integer> executeUpdateAsync(DataSource dataSource) {
+        return dbContext.async(dataSource, () -> statement.executeUpdate(dbContext.getThreadConnection()));
+    }
+
     /**
      * Calls {@link Connection#prepareStatement(String)} with the statement,
      * {@link DatabaseStatement#bindParameters(PreparedStatement, List)}, converting each parameter in the process
@@ -1,6 +1,9 @@
 package org.fluentjdbc;
 
+import javax.annotation.CheckReturnValue;
+import javax.sql.DataSource;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Generate <code>UPDATE</code> insert statements by collecting field names and parameters. Support
@@ -55,5 +58,16 @@ public class DbContextUpdateBuilder implements DatabaseUpdatable<DbContextUpdate
         return updateBuilder.execute(table.getConnection());
     }
 
+    /**
+     * Executes the UPDATE statement with a new connection from dataSource on the async executor of
+     * the {@link DbContext} and returns the number of updated rows
+     *
+     * @see DbContext#async(DataSource, java.util.function.Supplier)
+     */
+    @CheckReturnValue
+    public CompletableFuture<Integer> executeAsync(DataSource dataSource) {
+        return table.getDbContext().async(dataSource, this::execute);
+    }
+
 
 }
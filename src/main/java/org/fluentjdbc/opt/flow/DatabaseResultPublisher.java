@@ -0,0 +1,210 @@
+package org.fluentjdbc.opt.flow;
+
+import org.fluentjdbc.DatabaseResult;
+import org.fluentjdbc.DatabaseStatement;
+import org.fluentjdbc.util.ExceptionUtil;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Flow.Publisher} which executes a <code>SELECT</code> statement for each subscriber and reads
+ * rows from the {@link java.sql.ResultSet} only as the subscriber requests them, so large results can
+ * be sent to slow consumers without reading the whole result into memory. Each subscription uses its
+ * own connection from the {@link DataSource}, which is opened on the first request and closed when the
+ * last row has been read, on error or when the subscription is cancelled. All rows are read and
+ * delivered on the executor, with one task running at a time per subscription.
+ *
+ * <p>The fetch size of the statement is set to the first request from the subscriber (at most
+ * {@value #MAX_FETCH_SIZE}), so the driver reads rows from the database in the same batches as they
+ * are requested. As PostgreSQL only uses the fetch size when auto-commit is off, auto-commit is
+ * turned off for the duration of the query.</p>
+ *
+ * <p>Requires Java 9 or later for {@link Flow}.</p>
+ *
+ * <p>Example:</p>
+ *
+ * <pre>
+ * Flow.Publisher&lt;Person&gt; persons = new DatabaseResultPublisher&lt;&gt;(
+ *      table.where("status", status).orderBy("name").createSelect(), Person::new, dataSource, executor
+ * );
+ * </pre>
+ */
+public class DatabaseResultPublisher<T> implements Flow.Publisher<T> {
+
+    static final int MAX_FETCH_SIZE = 10_000;
+
+    private final DatabaseStatement statement;
+    private final DatabaseResult.RowMapper<T> mapper;
+    private final DataSource dataSource;
+    private final Executor executor;
+
+    public DatabaseResultPublisher(DatabaseStatement statement, DatabaseResult.RowMapper<T> mapper, DataSource dataSource, Executor executor) {
+        this.statement = statement;
+        this.mapper = mapper;
+        this.dataSource = dataSource;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new ResultSubscription(subscriber));
+    }
+
+    private class ResultSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile boolean cancelled = false;
+        private volatile IllegalArgumentException invalidRequest;
+
+        // Only accessed from drain()
+        private Connection connection;
+        private boolean autoCommitChanged = false;
+        private Stream<T> stream;
+        private Iterator<T> iterator;
+        private boolean done = false;
+
+        private ResultSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested items must be positive, was " + n);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * Processes requests and cancellation until no new signals have arrived. Requests from
+         * the subscriber while rows are delivered are handled by the loop, not recursively
+         */
+        private void drain() {
+            int signals = pendingSignals.get();
+            do {
+                if (!done) {
+                    deliver();
+                }
+                signals = pendingSignals.addAndGet(-signals);
+            } while (signals != 0);
+        }
+
+        private void deliver() {
+            try {
+                if (cancelled) {
+                    done = true;
+                    close();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    done = true;
+                    close();
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                long requested = demand.get();
+                if (requested == 0) {
+                    return;
+                }
+                if (iterator == null) {
+                    open((int) Math.min(requested, MAX_FETCH_SIZE));
+                }
+                long delivered = 0;
+                while (delivered < requested && !cancelled && iterator.hasNext()) {
+                    subscriber.onNext(iterator.next());
+                    delivered++;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-delivered);
+                }
+                if (cancelled) {
+                    done = true;
+                    close();
+                } else if (!iterator.hasNext()) {
+                    done = true;
+                    close();
+                    subscriber.onComplete();
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                try {
+                    close();
+                } catch (RuntimeException closeException) {
+                    e.addSuppressed(closeException);
+                }
+                subscriber.onError(e);
+            }
+        }
+
+        private void open(int fetchSize) {
+            try {
+                connection = dataSource.getConnection();
+                if (connection.getAutoCommit()) {
+                    connection.setAutoCommit(false);
+                    autoCommitChanged = true;
+                }
+            } catch (SQLException e) {
+                throw ExceptionUtil.softenCheckedException(e);
+            }
+            stream = statement.stream(connection, mapper, fetchSize);
+            iterator = stream.iterator();
+        }
+
+        private void close() {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } finally {
+                if (connection != null) {
+                    try {
+                        if (autoCommitChanged) {
+                            connection.rollback();
+                            connection.setAutoCommit(true);
+                        }
+                    } catch (SQLException e) {
+                        throw ExceptionUtil.softenCheckedException(e);
+                    } finally {
+                        try {
+                            connection.close();
+                        } catch (SQLException e) {
+                            //noinspection ThrowFromFinallyBlock
+                            throw ExceptionUtil.softenCheckedException(e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.fluentjdbc.opt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event committed by {@link JfrDatabaseReporter} when a statement completes.
+ * The event is committed at the end of the statement and the duration of each phase is recorded
+ * in the fields of the event.
+ *
+ * @see org.fluentjdbc.DatabaseQueryTiming
+ */
+@Name(DatabaseStatementEvent.NAME)
+@Label("Database Statement")
+@Category("fluent-jdbc")
+@Description("A SQL statement executed by fluent-jdbc")
+public class DatabaseStatementEvent extends Event {
+
+    public static final String NAME = "org.fluentjdbc.Statement";
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("SQL")
+    @Description("The parameterized SQL statement")
+    String sql;
+
+    @Label("Parameter Count")
+    int parameterCount;
+
+    @Label("Batch Size")
+    @Description("Number of rows in the batch, or 0 if the statement was not batched")
+    int batchSize;
+
+    @Label("Rows")
+    @Description("Rows read by a query or updated by an update, or -1 if unknown")
+    long rows;
+
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalTime;
+
+    @Label("Prepare Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long prepareTime;
+
+    @Label("Bind Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long bindTime;
+
+    @Label("Execute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long executeTime;
+
+    @Label("Fetch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetchTime;
+
+    @Label("Map Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long mapTime;
+
+    @Label("Consume Time")
+    @Description("Time the consumer of a streamed query spent between rows")
+    @Timespan(Timespan.NANOSECONDS)
+    long consumeTime;
+}
@@ -0,0 +1,135 @@
+package org.fluentjdbc.opt.jfr;
+
+import jdk.jfr.EventType;
+import org.fluentjdbc.DatabaseQueryTiming;
+import org.fluentjdbc.DatabaseReporter;
+import org.fluentjdbc.DatabaseSaveResult;
+import org.fluentjdbc.DatabaseTableOperationReporter;
+import org.fluentjdbc.DatabaseTableReporter;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link DatabaseReporter} which commits a {@link DatabaseStatementEvent} to JDK Flight Recorder for
+ * every statement, including bulk operations. The event begins when the statement starts and ends
+ * when it completes, so the <code>threshold</code> setting of the recording can be used to only
+ * record slow statements. When the event is not enabled in the current recording,
+ * reporting only costs a check of {@link EventType#isEnabled()}. Optionally delegates to another reporter,
+ * so JFR events can be combined with logging or metrics.
+ *
+ * <p>Requires a JDK with the <code>jdk.jfr</code> module (JDK 11+ or OpenJDK 8u272+).</p>
+ *
+ * <p>Example:</p>
+ *
+ * <pre>
+ * DbContext context = new DbContext(new DatabaseStatementFactory(new JfrDatabaseReporter(DatabaseReporter.LOGGING_REPORTER)));
+ * </pre>
+ *
+ * Start a recording with <code>java -XX:StartFlightRecording ...</code> and look for
+ * <code>org.fluentjdbc.Statement</code> events.
+ */
+public class JfrDatabaseReporter implements DatabaseReporter {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(DatabaseStatementEvent.class);
+
+    private final DatabaseReporter delegate;
+
+    public JfrDatabaseReporter() {
+        this(tableName -> operation -> (query, timing) -> {});
+    }
+
+    public JfrDatabaseReporter(DatabaseReporter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Nonnull
+    @Override
+    public DatabaseTableReporter table(@Nonnull String tableName) {
+        DatabaseTableReporter tableDelegate = delegate.table(tableName);
+        return operation -> new OperationReporter(tableName, operation, tableDelegate.operation(operation));
+    }
+
+    private static class OperationReporter implements DatabaseTableOperationReporter {
+        private final String tableName;
+        private final String operation;
+        private final DatabaseTableOperationReporter delegate;
+
+        private OperationReporter(String tableName, String operation, DatabaseTableOperationReporter delegate) {
+            this.tableName = tableName;
+            this.operation = operation;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void reportQuery(String query, long timing) {
+            delegate.reportQuery(query, timing);
+        }
+
+        @Override
+        public void reportQuery(String query, DatabaseQueryTiming timing) {
+            delegate.reportQuery(query, timing);
+        }
+
+        /**
+         * Begins a {@link DatabaseStatementEvent} when the statement starts, so that the duration
+         * of the event covers the statement and the <code>threshold</code> setting of the recording
+         * filters slow statements
+         */
+        @Override
+        public DatabaseTableOperationReporter startQuery(String query) {
+            DatabaseTableOperationReporter statementDelegate = delegate.startQuery(query);
+            if (!EVENT_TYPE.isEnabled()) {
+                return statementDelegate;
+            }
+            DatabaseStatementEvent event = new DatabaseStatementEvent();
+            event.begin();
+            return new StatementReporter(tableName, operation, event, statementDelegate);
+        }
+    }
+
+    private static class StatementReporter implements DatabaseTableOperationReporter {
+        private final String tableName;
+        private final String operation;
+        private final DatabaseStatementEvent event;
+        private final DatabaseTableOperationReporter delegate;
+
+        private StatementReporter(String tableName, String operation, DatabaseStatementEvent event, DatabaseTableOperationReporter delegate) {
+            this.tableName = tableName;
+            this.operation = operation;
+            this.event = event;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void reportQuery(String query, long timing) {
+            delegate.reportQuery(query, timing);
+        }
+
+        @Override
+        public void reportQuery(String query, DatabaseQueryTiming timing) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.table = tableName;
+                event.operation = operation;
+                event.sql = query;
+                event.parameterCount = timing.getParameterCount();
+                event.batchSize = timing.getBatchSize();
+                event.rows = timing.getRowCount();
+                event.totalTime = timing.getTotalNanos();
+                event.prepareTime = timing.getPrepareNanos();
+                event.bindTime = timing.getBindNanos();
+                event.executeTime = timing.getExecuteNanos();
+                event.fetchTime = timing.getFetchNanos();
+                event.mapTime = timing.getMapNanos();
+                event.consumeTime = timing.getConsumeNanos();
+                event.commit();
+            }
+            delegate.reportQuery(query, timing);
+        }
+
+        @Override
+        public void reportSaveResult(DatabaseSaveResult<?> result) {
+            delegate.reportSaveResult(result);
+        }
+    }
+}
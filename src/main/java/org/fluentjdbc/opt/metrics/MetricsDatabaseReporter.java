@@ -0,0 +1,136 @@
+package org.fluentjdbc.opt.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.fluentjdbc.DatabaseQueryTiming;
+import org.fluentjdbc.DatabaseReporter;
+import org.fluentjdbc.DatabaseSaveResult;
+import org.fluentjdbc.DatabaseTableOperationReporter;
+import org.fluentjdbc.DatabaseTableReporter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link DatabaseReporter} which records <a href="https://metrics.dropwizard.io/">Dropwizard Metrics</a>
+ * for each table and operation. The metrics are registered in the {@link MetricRegistry} the first time
+ * an operation is used on a table, and the handles are kept, so reporting a statement doesn't look up or
+ * create metric names. For each <code>prefix.table.operation</code>, the following metrics are registered:
+ *
+ * <ul>
+ *     <li><code>prefix.table.operation.time</code>: {@link Timer} with the total time of each statement</li>
+ *     <li><code>prefix.table.operation.execute</code>: {@link Timer} with the time executing each statement</li>
+ *     <li><code>prefix.table.operation.fetch</code>: {@link Timer} with the time reading and mapping rows</li>
+ *     <li><code>prefix.table.operation.rows</code>: {@link Histogram} with the rows read or updated</li>
+ *     <li><code>prefix.table.BULK_operation.batchSize</code>: {@link Histogram} with the batch size of bulk operations</li>
+ *     <li><code>prefix.table.SAVE.INSERTED</code>, <code>.UPDATED</code>, <code>.UNCHANGED</code>, <code>.DELETED</code>:
+ *     {@link Counter} with the {@link DatabaseSaveResult.SaveStatus} of each save</li>
+ * </ul>
+ *
+ * <p>Example:</p>
+ *
+ * <pre>
+ * MetricRegistry registry = new MetricRegistry();
+ * DbContext context = new DbContext(new DatabaseStatementFactory(new MetricsDatabaseReporter(registry, "db")));
+ * </pre>
+ *
+ * <p>Requires <code>io.dropwizard.metrics:metrics-core</code> on the classpath</p>
+ */
+public class MetricsDatabaseReporter implements DatabaseReporter {
+
+    private final MetricRegistry registry;
+    private final String prefix;
+    private final ConcurrentMap<String, TableMetrics> tables = new ConcurrentHashMap<>();
+
+    public MetricsDatabaseReporter(MetricRegistry registry) {
+        this(registry, "fluentjdbc");
+    }
+
+    public MetricsDatabaseReporter(MetricRegistry registry, String prefix) {
+        this.registry = registry;
+        this.prefix = prefix;
+    }
+
+    @Nonnull
+    @Override
+    public DatabaseTableReporter table(@Nonnull String tableName) {
+        return tables.computeIfAbsent(tableName, TableMetrics::new);
+    }
+
+    private class TableMetrics implements DatabaseTableReporter {
+        private final String tableName;
+        private final ConcurrentMap<String, DatabaseTableOperationReporter> operations = new ConcurrentHashMap<>();
+
+        private TableMetrics(String tableName) {
+            this.tableName = tableName;
+        }
+
+        @Override
+        public DatabaseTableOperationReporter operation(String operation) {
+            return operations.computeIfAbsent(operation, o -> o.equals("SAVE")
+                    ? new SaveMetrics(MetricRegistry.name(prefix, tableName, o))
+                    : new OperationMetrics(MetricRegistry.name(prefix, tableName, o), o.startsWith("BULK_")));
+        }
+    }
+
+    private class SaveMetrics implements DatabaseTableOperationReporter {
+        private final Counter[] saveStatus;
+
+        private SaveMetrics(String name) {
+            DatabaseSaveResult.SaveStatus[] statuses = DatabaseSaveResult.SaveStatus.values();
+            saveStatus = new Counter[statuses.length];
+            for (DatabaseSaveResult.SaveStatus status : statuses) {
+                saveStatus[status.ordinal()] = registry.counter(MetricRegistry.name(name, status.name()));
+            }
+        }
+
+        @Override
+        public void reportQuery(String query, long timing) {
+        }
+
+        @Override
+        public void reportSaveResult(DatabaseSaveResult<?> result) {
+            saveStatus[result.getSaveStatus().ordinal()].inc();
+        }
+    }
+
+    private class OperationMetrics implements DatabaseTableOperationReporter {
+        private final Timer time;
+        private final Timer execute;
+        private final Timer fetch;
+        private final Histogram rows;
+        @Nullable
+        private final Histogram batchSize;
+
+        private OperationMetrics(String name, boolean bulk) {
+            time = registry.timer(MetricRegistry.name(name, "time"));
+            execute = registry.timer(MetricRegistry.name(name, "execute"));
+            fetch = registry.timer(MetricRegistry.name(name, "fetch"));
+            rows = registry.histogram(MetricRegistry.name(name, "rows"));
+            batchSize = bulk ? registry.histogram(MetricRegistry.name(name, "batchSize")) : null;
+        }
+
+        @Override
+        public void reportQuery(String query, long timing) {
+            time.update(timing, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void reportQuery(String query, DatabaseQueryTiming timing) {
+            time.update(timing.getTotalNanos(), TimeUnit.NANOSECONDS);
+            execute.update(timing.getExecuteNanos(), TimeUnit.NANOSECONDS);
+            fetch.update(timing.getFetchNanos() + timing.getMapNanos(), TimeUnit.NANOSECONDS);
+            if (timing.getRowCount() >= 0) {
+                rows.update(timing.getRowCount());
+            }
+            if (batchSize != null) {
+                batchSize.update(timing.getBatchSize());
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.fluentjdbc.util;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative long values with bounded relative error, using the
+ * log-linear bucket layout of <a href="http://hdrhistogram.org/">HdrHistogram</a>. Values below
+ * 2<sup>precisionBits</sup> are counted exactly; larger values are counted in buckets with a width
+ * of at most 1/2<sup>precisionBits-1</sup> of the value. Values larger than 2<sup>43</sup>
+ * (about 2.4 hours in nanoseconds) are counted in the highest bucket.
+ *
+ * <p>{@link #record(long)} may be called concurrently from any number of threads. Use
+ * {@link #snapshot()} to calculate percentiles.</p>
+ */
+@ParametersAreNonnullByDefault
+public class ConcurrentHistogram {
+
+    private static final int MAX_VALUE_BITS = 43;
+
+    private final int precisionBits;
+    private final int subBucketCount;
+    private final int subBucketHalfCount;
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Creates a histogram with a relative error of less than 1/64
+     */
+    public ConcurrentHistogram() {
+        this(7);
+    }
+
+    /**
+     * Creates a histogram with a relative error of less than 1/2<sup>precisionBits-1</sup>
+     */
+    public ConcurrentHistogram(int precisionBits) {
+        if (precisionBits < 1 || precisionBits > 16) {
+            throw new IllegalArgumentException("precisionBits must be between 1 and 16, was " + precisionBits);
+        }
+        this.precisionBits = precisionBits;
+        this.subBucketCount = 1 << precisionBits;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.counts = new AtomicLongArray(bucketIndex((1L << MAX_VALUE_BITS) - 1) + 1);
+    }
+
+    /**
+     * Adds a value to the histogram. Negative values are counted as zero
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, (1L << MAX_VALUE_BITS) - 1));
+        counts.incrementAndGet(bucketIndex(clamped));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(clamped);
+        maxValue.accumulateAndGet(clamped, Math::max);
+    }
+
+    /**
+     * Returns a copy of the current counts. Values recorded while the snapshot is taken may
+     * or may not be included
+     */
+    @CheckReturnValue
+    public Snapshot snapshot() {
+        long[] bucketCounts = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = counts.get(i);
+            count += bucketCounts[i];
+        }
+        return new Snapshot(bucketCounts, count, totalSum.get(), maxValue.get());
+    }
+
+    /**
+     * Returns the number of values recorded
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    private int bucketIndex(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (precisionBits - 1);
+        return subBucketCount + (shift - 1) * subBucketHalfCount + (int) ((value >>> shift) - subBucketHalfCount);
+    }
+
+    private long lowestValue(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int offset = index - subBucketCount;
+        int shift = offset / subBucketHalfCount + 1;
+        return ((long) (offset % subBucketHalfCount + subBucketHalfCount)) << shift;
+    }
+
+    private long highestValue(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int shift = (index - subBucketCount) / subBucketHalfCount + 1;
+        return lowestValue(index) + (1L << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of the counts of a {@link ConcurrentHistogram}, used to
+     * calculate percentiles
+     */
+    public class Snapshot {
+        private final long[] bucketCounts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] bucketCounts, long count, long sum, long max) {
+            this.bucketCounts = bucketCounts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Returns the number of values in the snapshot
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the largest value recorded, or 0 if no values were recorded
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the average of the values recorded, or 0 if no values were recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns a value which at least the specified percentage of values are less
+         * than or equal to, e.g. <code>getValueAtPercentile(99.9)</code>. The value
+         * is the highest value in the bucket and never larger than {@link #getMax()}.
+         * Returns 0 if no values were recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+            long cumulative = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                cumulative += bucketCounts[i];
+                if (cumulative >= target) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Returns the median value
+         */
+        public long getP50() {
+            return getValueAtPercentile(50);
+        }
+
+        /**
+         * Returns the 99th percentile value
+         */
+        public long getP99() {
+            return getValueAtPercentile(99);
+        }
+
+        /**
+         * Returns the 99.9th percentile value
+         */
+        public long getP999() {
+            return getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{count=" + count + ", mean=" + getMean()
+                    + ", p50=" + getP50() + ", p99=" + getP99() + ", p999=" + getP999() + ", max=" + max + "}";
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.fluentjdbc.h2.H2TestDatabase;
 import org.fluentjdbc.opt.junit.DbContextRule;
+import org.fluentjdbc.util.ConcurrentHistogram;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -12,7 +13,15 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.fluentjdbc.AbstractDatabaseTest.createTable;
@@ -69,4 +78,138 @@ public class DatabaseReporterTest {
         assertThat(histogram.getCount()).isEqualTo(countBefore + 1);
     }
 
+    @Test
+    public void shouldRecordHistogramsPerTableAndOperation() {
+        DatabaseHistogramReporter reporter = new DatabaseHistogramReporter();
+        DbContext context = new DbContext(new DatabaseStatementFactory(reporter));
+        DbContextTable table = context.table("unique_table_name");
+        try (DbContextConnection ignored = context.startConnection(dataSource)) {
+            table.insert().setField("code", 1).setField("name", "a").execute();
+            table.insert().setField("code", 2).setField("name", "b").execute();
+            for (int i = 0; i < 10; i++) {
+                assertThat(table.query().orderBy("code").listStrings("name")).containsExactly("a", "b");
+            }
+        }
+
+        DatabaseHistogramReporter.OperationHistograms selects = reporter.getHistograms("unique_table_name", "SELECT");
+        assertThat(selects).isNotNull();
+        ConcurrentHistogram.Snapshot total = selects.getTotal().snapshot();
+        assertThat(total.getCount()).isEqualTo(10);
+        assertThat(total.getP50()).isPositive().isLessThanOrEqualTo(total.getP999());
+        assertThat(selects.getRows().snapshot().getMax()).isEqualTo(2);
+        assertThat(selects.getExecute().snapshot().getCount()).isEqualTo(10);
+        assertThat(reporter.getHistograms("unique_table_name", "INSERT").getTotal().getCount()).isEqualTo(2);
+        assertThat(reporter.getAllHistograms()).containsOnlyKeys("unique_table_name");
+    }
+
+    @Test
+    public void shouldCalculatePercentilesWithBoundedError() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000);
+        }
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        for (double percentile : Arrays.asList(50.0, 99.0, 99.9)) {
+            long expected = (long) (percentile * 1000 * 1000);
+            assertThat(snapshot.getValueAtPercentile(percentile))
+                    .isBetween(expected, expected + expected / 64);
+        }
+        assertThat(snapshot.getMax()).isEqualTo(100_000_000L);
+        assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    public void shouldReportStreamedQueriesOnCompletion() {
+        List<DatabaseQueryTiming> timings = new ArrayList<>();
+        DbContext context = new DbContext(new DatabaseStatementFactory(tableName -> operation -> new DatabaseTableOperationReporter() {
+            @Override
+            public void reportQuery(String query, long timing) {
+            }
+
+            @Override
+            public void reportQuery(String query, DatabaseQueryTiming timing) {
+                if (operation.equals("SELECT")) {
+                    timings.add(timing);
+                }
+            }
+        }));
+        DbContextTable table = context.table("unique_table_name");
+        try (DbContextConnection ignored = context.startConnection(dataSource)) {
+            for (int i = 0; i < 5; i++) {
+                table.insert().setField("code", i).setField("name", "row " + i).execute();
+            }
+
+            Stream<String> stream = table.query().orderBy("code").stream(row -> row.getString("name"));
+            assertThat(timings).isEmpty();
+            assertThat(stream.count()).isEqualTo(5);
+            assertThat(timings).hasSize(1);
+            assertThat(timings.get(0).getRowCount()).isEqualTo(5);
+            assertThat(timings.get(0).getFetchNanos()).isPositive();
+            assertThat(timings.get(0).getMapNanos()).isPositive();
+
+            try (Stream<String> partial = table.query().orderBy("code").stream(row -> row.getString("name"))) {
+                assertThat(partial.findFirst()).get().isEqualTo("row 0");
+            }
+            assertThat(timings).hasSize(2);
+            assertThat(timings.get(1).getRowCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void shouldAskReporterForEveryStatement() {
+        List<String> requests = new ArrayList<>();
+        ThreadLocal<String> currentRequest = new ThreadLocal<>();
+        DbContext context = new DbContext(new DatabaseStatementFactory(tableName -> {
+            String request = currentRequest.get();
+            return operation -> (query, timing) -> {
+                if (operation.equals("SELECT")) {
+                    requests.add(request);
+                }
+            };
+        }));
+        DbContextTable table = context.table("unique_table_name");
+        try (DbContextConnection ignored = context.startConnection(dataSource)) {
+            currentRequest.set("first");
+            assertThat(table.query().listStrings("name")).isEmpty();
+            currentRequest.set("second");
+            assertThat(table.query().listStrings("name")).isEmpty();
+        }
+        assertThat(requests).containsExactly("first", "second");
+    }
+
+    @Test
+    public void shouldReportSlowQueriesWithPlan() throws InterruptedException {
+        BlockingQueue<DatabaseSlowQuery> slowQueries = new LinkedBlockingQueue<>();
+        List<String> listenerThreads = new CopyOnWriteArrayList<>();
+        DbContext context = new DbContext(new DatabaseSlowQueryStatementFactory(Duration.ZERO)
+                .explainWith(dataSource)
+                .onSlowQuery(query -> {
+                    listenerThreads.add(Thread.currentThread().getName());
+                    slowQueries.add(query);
+                }));
+        DbContextTable table = context.table("unique_table_name");
+        try (DbContextConnection ignored = context.startConnection(dataSource)) {
+            table.where("code", 12).listStrings("name");
+        }
+
+        DatabaseSlowQuery slowQuery = slowQueries.poll(10, TimeUnit.SECONDS);
+        assertThat(slowQuery).isNotNull();
+        assertThat(listenerThreads).containsExactly("fluent-jdbc-explain");
+        assertThat(slowQuery.getOperation()).isEqualTo("SELECT");
+        assertThat(slowQuery.getSql()).contains("code = ?");
+        assertThat(slowQuery.getParameters()).containsExactly(12);
+        assertThat(slowQuery.getPlan()).containsIgnoringCase("unique_table_name");
+    }
+
+    @Test
+    public void shouldNotReportFastQueries() {
+        List<DatabaseSlowQuery> slowQueries = new ArrayList<>();
+        DbContext context = new DbContext(new DatabaseSlowQueryStatementFactory(Duration.ofMinutes(1))
+                .onSlowQuery(slowQueries::add));
+        try (DbContextConnection ignored = context.startConnection(dataSource)) {
+            context.table("unique_table_name").where("code", 12).listStrings("name");
+        }
+        assertThat(slowQueries).isEmpty();
+    }
+
 }
@@ -11,10 +11,14 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.fluentjdbc.FluentJdbcAsserts.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 public class DatabaseTableTest extends AbstractDatabaseTest {
 
@@ -98,6 +102,47 @@ public class DatabaseTableTest extends AbstractDatabaseTest {
             .doesNotContain(id3.toString());
     }
 
+    @Test
+    public void shouldPadWhereInToFewShapes() {
+        DatabaseWhereBuilder whereBuilder = new DatabaseWhereBuilder().whereIn("code", Arrays.asList(1, 2, 3));
+        assertThat(whereBuilder.whereClause()).isEqualTo(" WHERE (code IN (?, ?, ?, ?))");
+        assertThat(whereBuilder.getParameters()).containsExactly(1, 2, 3, 3);
+
+        assertThat(new DatabaseWhereBuilder().whereIn("code", Arrays.asList(5, 6, 7)).whereClause())
+                .isEqualTo(whereBuilder.whereClause());
+        assertThat(new DatabaseWhereBuilder().whereIn("code", Collections.nCopies(1500, 1)).getParameters())
+                .hasSize(DatabaseStatement.MAX_IN_LIST_SIZE + 512);
+    }
+
+    @Test
+    public void shouldSplitLargeWhereIn() {
+        table.bulkInsert(IntStream.rangeClosed(1, 10).boxed().collect(Collectors.toList()))
+                .setField("code", code -> code)
+                .setField("name", code -> "row" + code)
+                .execute(connection);
+        List<Integer> codes = IntStream.rangeClosed(5, 2504).boxed().collect(Collectors.toList());
+
+        assertThat(table.whereIn("code", codes).orderBy("code").listLongs(connection, "code"))
+                .containsExactly(5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    public void shouldListOnWhereAny() throws SQLException {
+        String productName = connection.getMetaData().getDatabaseProductName();
+        assumeTrue(productName + " does not support arrays", productName.equals("H2") || productName.equals("PostgreSQL"));
+
+        table.insert().setPrimaryKey("id", null).setField("code", 1).setField("name", "hello").execute(connection);
+        table.insert().setPrimaryKey("id", null).setField("code", 2).setField("name", "world").execute(connection);
+        table.insert().setPrimaryKey("id", null).setField("code", 3).setField("name", "darkness").execute(connection);
+
+        assertThat(table.whereAny("name", Arrays.asList("hello", "world")).orderBy("code").listLongs(connection, "code"))
+                .containsExactly(1L, 2L);
+        assertThat(table.whereAny("code", Arrays.asList(2, 3, 4)).orderBy("code").listStrings(connection, "name"))
+                .containsExactly("world", "darkness");
+        assertThat(table.whereAny("code", Collections.emptyList()).unordered().listStrings(connection, "name"))
+                .isEmpty();
+    }
+
     @Test
     public void shouldReturnEmptyListOnEmptyWhereIn() throws SQLException {
         table.insert().setPrimaryKey("id", null).setField("code", 1).setField("name", "hello").execute(connection);
@@ -12,9 +12,11 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -161,6 +163,143 @@ public class DbContextJoinedQueryBuilderTest {
                 .leftJoin(m.column("person_id"), p.column("id")).getCount()).isEqualTo(3);
     }
 
+    @Test
+    public void shouldCountWithoutOrderByAndUnusedLeftJoins() {
+        long alice = savePerson("Alice");
+        long bob = savePerson("Bob");
+        long army = saveOrganization("Army");
+        saveMembership(alice, army);
+        saveMembership(bob, army);
+
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+
+        assertThat(m.leftJoin(m.column("person_id"), p.column("id"))
+                .leftJoin(m.column("organization_id"), o.column("id"))
+                .orderBy(p.column("name"))
+                .getCount()).isEqualTo(2);
+        assertThat(m.leftJoin(m.column("person_id"), p.column("id"))
+                .leftJoin(m.column("organization_id"), o.column("id"))
+                .whereExpression("o.name = ?", "Army")
+                .getCount()).isEqualTo(2);
+        assertThat(m.leftJoin(m.column("person_id"), p.column("id"))
+                .leftJoin(m.column("organization_id"), o.column("id"))
+                .whereExpression("o.name = ?", "Navy")
+                .getCount()).isEqualTo(0);
+        assertThat(o.leftJoin(o.column("id"), m.column("organization_id"))
+                .whereExpression("o.id = ?", army)
+                .getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldCheckExistenceOfJoinedRows() {
+        long alice = savePerson("Alice");
+        long army = saveOrganization("Army");
+        long navy = saveOrganization("Navy");
+        saveMembership(alice, army);
+
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+
+        assertThat(o.leftJoin(o.column("id"), m.column("organization_id"))
+                .whereExpression("o.id = ?", navy)
+                .exists()).isTrue();
+        assertThat(o.join(o.column("id"), m.column("organization_id"))
+                .whereExpression("o.id = ?", navy)
+                .exists()).isFalse();
+        assertThat(o.leftJoin(o.column("id"), m.column("organization_id"))
+                .leftJoin(m.column("person_id"), p.column("id"))
+                .whereExpression("p.name = ?", "Alice")
+                .orderBy(o.column("name"))
+                .exists()).isTrue();
+        assertThat(o.leftJoin(o.column("id"), m.column("organization_id"))
+                .leftJoin(m.column("person_id"), p.column("id"))
+                .whereExpression("p.name = ?", "Bob")
+                .exists()).isFalse();
+    }
+
+    @Test
+    public void shouldKeepLeftJoinsUsedByUnqualifiedColumns() {
+        long alice = savePerson("Alice");
+        long bob = savePerson("Bob");
+        long army = saveOrganization("Army");
+        saveMembership(alice, army);
+        saveMembership(bob, army);
+
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+
+        assertThat(m.leftJoin(m.column("person_id"), p.column("id"))
+                .whereExpression("name = ?", "Alice")
+                .getCount()).isEqualTo(1);
+        assertThat(m.leftJoin(m.column("person_id"), p.column("id"))
+                .whereExpression("name = ?", "Carol")
+                .exists()).isFalse();
+    }
+
+    @Test
+    public void shouldReuseTableViewsAcrossRows() {
+        long person1Id = savePerson("Jill");
+        long orgOneId = saveOrganization("Oslo");
+        saveOrganization("Bergen");
+        saveOrganization("Trondheim");
+        saveMembership(person1Id, orgOneId);
+
+        DbContextTableAlias m = this.memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+
+        List<DatabaseRow> views = new ArrayList<>();
+        List<String> result = o.leftJoin(o.column("id"), m.column("organization_id"))
+                .leftJoin(m.column("person_id"), p.column("id"))
+                .orderBy("o.name")
+                .list(row -> {
+                    views.add(row.table(o));
+                    assertThat(row.table(o)).isSameAs(views.get(views.size() - 1));
+                    DatabaseRow person = row.table(p);
+                    return row.table(o).getString("name") + ":" + (person != null ? person.getString("name") : null);
+                });
+
+        assertThat(result).containsExactly("Bergen:null", "Oslo:Jill", "Trondheim:null");
+        assertThat(views).allSatisfy(view -> assertThat(view).isSameAs(views.get(0)));
+    }
+
+    @Test
+    public void shouldMapEachParentOnceInOneToManyJoin() {
+        long person1Id = savePerson("Jill");
+        long person2Id = savePerson("Jack");
+        long orgOneId = saveOrganization("Oslo");
+        saveOrganization("Bergen");
+        saveMembership(person1Id, orgOneId);
+        saveMembership(person2Id, orgOneId);
+
+        DbContextTableAlias m = this.memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+
+        AtomicInteger parentsMapped = new AtomicInteger();
+        List<List<String>> result = o.leftJoin(o.column("id"), m.column("organization_id"))
+                .leftJoin(m.column("person_id"), p.column("id"))
+                .orderBy("o.name, p.name")
+                .listDistinct(o.column("id"), row -> {
+                    parentsMapped.incrementAndGet();
+                    return new ArrayList<>(Collections.singletonList(row.getString("name")));
+                }, (organization, row) -> {
+                    DatabaseRow person = row.table(p);
+                    if (person != null) {
+                        organization.add(person.getString("name"));
+                    }
+                });
+
+        assertThat(result).containsExactly(
+                Collections.singletonList("Bergen"),
+                Arrays.asList("Oslo", "Jack", "Jill")
+        );
+        assertThat(parentsMapped).hasValue(2);
+    }
+
     @Test
     public void shouldJoinSameTableWithDifferentAlias() {
         String personOneName = "Jane";
@@ -198,6 +337,121 @@ public class DbContextJoinedQueryBuilderTest {
                 .isEqualTo("access_to=Jane granted_by=James");
     }
 
+    @Test
+    public void shouldJoinWithExplicitColumns() {
+        long personOneId = savePerson("Jane");
+        long personTwoId = savePerson("James");
+        long membershipId = saveMembership(personOneId, saveOrganization("Oslo"));
+        permissions.insert()
+                .setPrimaryKey("id", (Long) null)
+                .setField("name", "explicitPermName")
+                .setField("membership_id", membershipId)
+                .setField("granted_by", personTwoId)
+                .execute();
+
+        DbContextTableAlias perm = permissions.alias("perm");
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias g = persons.alias("granter");
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(perm.where("name", "explicitPermName")
+                    .join(perm.column("membership_id"), m.column("id"))
+                    .join(m.column("person_id"), p.column("id"))
+                    .leftJoin(perm.column("granted_by"), g.column("id"))
+                    .explicitColumns()
+                    .singleObject(r -> String.format(
+                            "%s access_to=%s granted_by=%s",
+                            r.getString("name"),
+                            r.table(p).getString("name"),
+                            r.table(g).getString("name")
+                    )))
+                    .get()
+                    .isEqualTo("explicitPermName access_to=Jane granted_by=James");
+        }
+    }
+
+    @Test
+    public void shouldOnlyUseColumnsFromCurrentSchemaWithExplicitColumns() throws SQLException {
+        Assume.assumeFalse("SQLite does not support schemas", getDatabaseProductName(dbContext.getThreadConnection()).equals("SQLite"));
+        try (Connection connection = dataSource.getConnection()) {
+            dropTablesIfExists(connection, "dbtest_other_schema.dbtest_persons");
+            createTable(connection, "create schema if not exists dbtest_other_schema", replacements);
+            createTable(connection, "create table dbtest_other_schema.dbtest_persons (id ${INTEGER_PK}, name varchar(50) not null, nickname varchar(50))", replacements);
+        }
+        long membershipId = saveMembership(savePerson("Jane"), saveOrganization("Oslo"));
+
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        assertThat(m.where("id", membershipId)
+                .join(m.column("person_id"), p.column("id"))
+                .explicitColumns()
+                .singleObject(r -> r.table(p).getString("name")))
+                .get()
+                .isEqualTo("Jane");
+    }
+
+    @Test
+    public void shouldNotReuseColumnLayoutFromOtherSchema() throws SQLException {
+        Assume.assumeFalse("SQLite does not support schemas", getDatabaseProductName(dbContext.getThreadConnection()).equals("SQLite"));
+        try (Connection connection = dataSource.getConnection()) {
+            dropTablesIfExists(connection, "dbtest_layout_one.dbtest_children", "dbtest_layout_one.dbtest_parents", "dbtest_layout_two.dbtest_children", "dbtest_layout_two.dbtest_parents");
+            createTable(connection, "create schema if not exists dbtest_layout_one", replacements);
+            createTable(connection, "create schema if not exists dbtest_layout_two", replacements);
+            createTable(connection, "create table dbtest_layout_one.dbtest_parents (id integer not null, name varchar(50) not null)", replacements);
+            createTable(connection, "create table dbtest_layout_two.dbtest_parents (name varchar(50) not null, id integer not null)", replacements);
+            for (String schema : asList("dbtest_layout_one", "dbtest_layout_two")) {
+                createTable(connection, "create table " + schema + ".dbtest_children (id integer not null, parent_id integer not null)", replacements);
+                createTable(connection, "insert into " + schema + ".dbtest_parents (id, name) values (1, '" + schema + "')", replacements);
+                createTable(connection, "insert into " + schema + ".dbtest_children (id, parent_id) values (10, 1)", replacements);
+            }
+        }
+
+        Connection connection = dbContext.getThreadConnection();
+        String originalSchema = connection.getSchema();
+        try {
+            for (String schema : asList("dbtest_layout_one", "dbtest_layout_two")) {
+                connection.setSchema(schema.toUpperCase());
+                DbContextTableAlias c = dbContext.table("dbtest_children").alias("c");
+                DbContextTableAlias p = dbContext.table("dbtest_parents").alias("p");
+                assertThat(c.join(c.column("parent_id"), p.column("id"))
+                        .query()
+                        .list(row -> row.table(p).getString("name")))
+                        .containsExactly(schema);
+            }
+        } finally {
+            connection.setSchema(originalSchema);
+        }
+    }
+
+    @Test
+    public void shouldJoinWithSelectedColumns() {
+        long personId = savePerson("Jill");
+        long orgOneId = saveOrganization("Oslo");
+        saveOrganization("Bergen");
+        saveMembership(personId, orgOneId);
+
+        DbContextTableAlias m = this.memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+
+        List<String> result = o.leftJoin(o.column("id"), m.column("organization_id"))
+                .leftJoin(m.column("person_id"), p.column("id"))
+                .columns(o.column("name"), p.column("name"))
+                .orderBy("o.name")
+                .list(row -> {
+                    DatabaseRow person = row.table(p);
+                    return row.table(o).getString("name") + ":" + (person != null ? person.getString("name") : null);
+                });
+        assertThat(result).containsExactly("Bergen:null", "Oslo:Jill");
+
+        assertThatThrownBy(() -> o.join(o.column("id"), m.column("organization_id"))
+                .columns(o.column("name"))
+                .unordered()
+                .list(row -> row.table(o).getLong("id")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void shouldThrowExceptionOnUnknownTable() {
         long alice = savePerson("Alice");
@@ -253,6 +507,40 @@ public class DbContextJoinedQueryBuilderTest {
                 .containsExactly("Army Alice", "Boutique Alice", "Army Bob");
     }
 
+    @Test
+    public void shouldCombineLargeWhereInWithOtherConditions() {
+        long alice = savePerson("Alice");
+        long bob = savePerson("Bob");
+
+        long army = saveOrganization("Army");
+        long boutique = saveOrganization("Boutique");
+
+        saveMembership(alice, army);
+        saveMembership(alice, boutique);
+        saveMembership(bob, army);
+
+        List<Long> organizationIds = new ArrayList<>();
+        organizationIds.add(army);
+        for (long i = 1; i <= 1500; i++) {
+            organizationIds.add(-i);
+        }
+        organizationIds.add(boutique);
+
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias p = persons.alias("p");
+        DbContextTableAlias o = organizations.alias("o");
+
+        List<String> result = m
+                .join(m.column("person_id"), p.column("id"))
+                .join(m.column("organization_id"), o.column("id"))
+                .query()
+                .whereIn(o.column("id"), organizationIds)
+                .where(p.column("name"), "Bob")
+                .orderBy(o.column("name"))
+                .list(row -> row.table(o).getString("name") + " " + row.table(p).getString("name"));
+        assertThat(result).containsExactly("Army Bob");
+    }
+
     @Test
     public void shouldOrderAndLimit() {
         assumeLimitSupported();
@@ -379,6 +667,33 @@ public class DbContextJoinedQueryBuilderTest {
                 .containsExactlyInAnyOrder("first parent - first child", "second parent - second child");
     }
 
+    @Test
+    public void shouldPageJoinedQueryWithKeyset() {
+        assumeLimitSupported();
+        long janeId = savePerson("Jane");
+        long jamesId = savePerson("James");
+        long osloId = saveOrganization("Oslo");
+        long bergenId = saveOrganization("Bergen");
+        saveMembership(janeId, osloId);
+        saveMembership(janeId, bergenId);
+        saveMembership(jamesId, osloId);
+        saveMembership(jamesId, bergenId);
+
+        DbContextTableAlias m = memberships.alias("m");
+        DbContextTableAlias ps = persons.alias("ps");
+        DbContextTableAlias o = organizations.alias("o");
+        List<DatabaseColumnReference> keys = asList(o.column("name"), ps.column("name"));
+        DatabaseResult.RowMapper<String> mapper = row -> row.table(o).getString("name") + " - " + row.table(ps).getString("name");
+
+        DbContextJoinedSelectBuilder query = m.join(m.column("person_id"), ps.column("id"))
+                .join(m.column("organization_id"), o.column("id"));
+        DatabasePage<String> firstPage = query.pageAfter(keys, null, 3, mapper);
+        assertThat(firstPage.getItems()).containsExactly("Bergen - James", "Bergen - Jane", "Oslo - James");
+        DatabasePage<String> secondPage = query.pageAfter(keys, firstPage.getNextCursor(), 3, mapper);
+        assertThat(secondPage.getItems()).containsExactly("Oslo - Jane");
+        assertThat(secondPage.hasNextPage()).isFalse();
+    }
+
     @Test
     public void shouldValidateMatchingNumberOfJoinedColumns() {
         assertThatThrownBy(() ->
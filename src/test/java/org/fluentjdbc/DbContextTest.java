@@ -17,11 +17,32 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -391,6 +412,32 @@ public class DbContextTest {
         assertThat(table.where("name", "shouldCountRows").getCount()).isEqualTo(2);
     }
 
+    @Test
+    public void shouldCheckExistence() {
+        table.insert().setPrimaryKey("id", null).setField("code", 1).setField("name", "shouldCheckExistence").execute();
+        table.insert().setPrimaryKey("id", null).setField("code", 2).setField("name", "shouldCheckExistence").execute();
+
+        assertThat(table.where("name", "shouldCheckExistence").exists()).isTrue();
+        assertThat(table.where("name", "shouldCheckExistence").orderBy("code").exists()).isTrue();
+        assertThat(table.where("name", "missing").exists()).isFalse();
+        assertThat(dbContext.select("name").from(table.getTable().getTableName()).where("name", "shouldCheckExistence").exists())
+                .isTrue();
+    }
+
+    @Test
+    public void shouldEstimateCount() {
+        table.insert().setPrimaryKey("id", null).setField("code", 1).setField("name", "shouldEstimateCount").execute();
+        table.insert().setPrimaryKey("id", null).setField("code", 2).setField("name", "shouldEstimateCount").execute();
+
+        long estimate = table.where("name", "shouldEstimateCount").estimateCount();
+        String productName = getDatabaseProductName(dbContext.getThreadConnection());
+        if (productName.equals("PostgreSQL") || productName.equals("MySQL")) {
+            assertThat(estimate).isGreaterThanOrEqualTo(0);
+        } else {
+            assertThat(estimate).isEqualTo(2);
+        }
+    }
+
     @Test
     public void orderRows() {
         table.insert().setPrimaryKey("id", null).setField("code", 1).setField("name", "C").execute();
@@ -416,6 +463,528 @@ public class DbContextTest {
                 .containsExactly(2L, 1L);
     }
 
+    @Test
+    public void shouldUseSameStatementForEveryPage() {
+        DatabaseStatement firstPage = table.orderedBy("code").skipAndLimit(0, 10).createSelect();
+        DatabaseStatement secondPage = table.orderedBy("code").skipAndLimit(10, 10).createSelect();
+        assertThat(firstPage.getStatement())
+                .isEqualTo(secondPage.getStatement())
+                .endsWith(" offset ? rows fetch first ? rows only");
+    }
+
+    @Test
+    public void shouldPageWithKeyset() {
+        assumeLimitSupported();
+        table.whereExpression("1 = 1").executeDelete();
+        insertTestRow(1, "C");
+        insertTestRow(2, "B");
+        insertTestRow(3, "A");
+        insertTestRow(4, "A");
+        insertTestRow(5, "B");
+
+        List<String> keys = Arrays.asList("name", "code");
+        DbContextSelectBuilder query = table.query();
+        DatabasePage<Long> firstPage = query.pageAfter(keys, null, 2, row -> row.getLong("code"));
+        assertThat(firstPage.getItems()).containsExactly(3L, 4L);
+        assertThat(firstPage.hasNextPage()).isTrue();
+        DatabasePage<Long> secondPage = query.pageAfter(keys, firstPage.getNextCursor(), 2, row -> row.getLong("code"));
+        assertThat(secondPage.getItems()).containsExactly(2L, 5L);
+        DatabasePage<Long> lastPage = query.pageAfter(keys, secondPage.getNextCursor(), 2, row -> row.getLong("code"));
+        assertThat(lastPage.getItems()).containsExactly(1L);
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void shouldSelectRowsAfterKey() {
+        insertTestRow(1, "C");
+        insertTestRow(2, "B");
+        insertTestRow(3, "A");
+
+        assertThat(table.query().after(Arrays.asList("name"), Arrays.asList("A")).listLongs("code"))
+                .containsExactly(2L, 1L);
+        assertThatThrownBy(() -> table.query().pageAfter(Arrays.asList("name"), "not a cursor", 2, row -> row.getLong("code")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldNotCombineKeysetPaginationWithOrderBy() {
+        insertTestRow(1, "C");
+        insertTestRow(2, "B");
+        DbContextSelectBuilder query = table.query().orderBy("code");
+        DatabasePage<Long> firstPage = table.query().pageAfter(Arrays.asList("name"), null, 1, row -> row.getLong("code"));
+
+        assertThatThrownBy(() -> query.pageAfter(Arrays.asList("name"), null, 1, row -> row.getLong("code")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> query.pageAfter(Arrays.asList("name"), firstPage.getNextCursor(), 1, row -> row.getLong("code")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldReadChunksInParallel() {
+        for (int i = 1; i <= 100; i++) {
+            insertTestRow(i * 3, i % 2 == 0 ? "even" : "odd");
+        }
+
+        List<Long> codes = table.where("name", "even").parallelStream(dataSource, "code", 4, row -> row.getLong("code"))
+                .collect(Collectors.toList());
+        assertThat(codes).hasSize(50).isSorted().startsWith(6L, 12L).endsWith(300L);
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger count = new AtomicInteger();
+        table.query().forEachParallel(dataSource, "code", 3, row -> {
+            threads.add(Thread.currentThread().getName());
+            count.incrementAndGet();
+        });
+        assertThat(count.get()).isEqualTo(100);
+        assertThat(threads).hasSize(3);
+
+        assertThat(table.where("name", "none").parallelStream(dataSource, "code", 4, row -> row.getLong("code")))
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldReadChunksInParallelWhileStreaming() throws InterruptedException {
+        int rowCount = DatabaseResult.STREAM_BATCH_SIZE * 10;
+        List<Integer> codes = IntStream.range(0, rowCount).boxed().collect(Collectors.toList());
+        table.bulkInsert(codes).setField("code", code -> code).setField("name", code -> "row " + code).execute();
+
+        AtomicInteger mappedRows = new AtomicInteger();
+        try (Stream<Long> stream = table.query().parallelStream(dataSource, "code", 2, row -> {
+            mappedRows.incrementAndGet();
+            return row.getLong("code");
+        })) {
+            assertThat(stream.iterator().next()).isEqualTo(0L);
+            Thread.sleep(200);
+            assertThat(mappedRows.get()).isLessThanOrEqualTo(2 * (2 * DatabaseResult.STREAM_BATCH_SIZE + 1));
+        }
+
+        try (Stream<Long> stream = table.query().parallelStream(dataSource, "code", 3, row -> row.getLong("code"))) {
+            assertThat(stream.collect(Collectors.toList())).hasSize(rowCount).isSorted();
+        }
+    }
+
+    @Test
+    public void shouldReadChunksInParallelWithSelectedColumns() {
+        insertTestRow(1, "A");
+        insertTestRow(2, "B");
+
+        List<Set<String>> columns = table.query().columns("code").parallelStream(dataSource, "code", 2, row -> row.getColumnIndexes().keySet())
+                .collect(Collectors.toList());
+        assertThat(columns).hasSize(2).allSatisfy(names -> assertThat(names).containsExactly("CODE"));
+
+        assertThatThrownBy(() -> table.query().orderBy("name").forEachParallel(dataSource, "code", 2, row -> {}))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> table.query().skipAndLimit(0, 1).parallelStream(dataSource, "code", 2, row -> row.getLong("code")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldReadChunksInParallelAcrossFullKeyRange() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            dropTableIfExists(connection, "database_table_test_wide_keys");
+            createTable(connection, "create table database_table_test_wide_keys (id bigint not null, name varchar(50) not null)", replacements);
+        }
+        DbContextTable wideKeys = dbContext.table("database_table_test_wide_keys");
+        for (long id : new long[] { Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE }) {
+            wideKeys.insert().setField("id", id).setField("name", "row " + id).execute();
+        }
+
+        assertThat(wideKeys.query().parallelStream(dataSource, "id", 3, row -> row.getLong("id")))
+                .containsExactly(Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void shouldSplitStreamInBatches() {
+        int rowCount = DatabaseResult.STREAM_BATCH_SIZE * 2 + 10;
+        List<Integer> codes = IntStream.range(0, rowCount).boxed().collect(Collectors.toList());
+        table.bulkInsert(codes).setField("code", code -> code).setField("name", code -> "row " + code).execute();
+
+        try (Stream<Integer> stream = table.query().orderBy("code").stream(row -> row.getInt("code"))) {
+            Spliterator<Integer> spliterator = stream.spliterator();
+            assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+            Spliterator<Integer> firstBatch = spliterator.trySplit();
+            assertThat(firstBatch.getExactSizeIfKnown()).isEqualTo(DatabaseResult.STREAM_BATCH_SIZE);
+            assertThat(firstBatch.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+            assertThat(spliterator.trySplit().estimateSize()).isEqualTo(DatabaseResult.STREAM_BATCH_SIZE);
+            assertThat(spliterator.trySplit().estimateSize()).isEqualTo(10);
+            assertThat(spliterator.trySplit()).isNull();
+        }
+
+        assertThat(table.query().orderBy("code").stream(row -> row.getInt("code")).parallel().map(code -> code * 2))
+                .containsExactlyElementsOf(codes.stream().map(code -> code * 2).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldMapParallelStreamOnSeveralThreads() throws Exception {
+        int rowCount = DatabaseResult.STREAM_BATCH_SIZE * 8;
+        List<Integer> codes = IntStream.range(0, rowCount).boxed().collect(Collectors.toList());
+        table.bulkInsert(codes).setField("code", code -> code).setField("name", code -> "row " + code).execute();
+
+        Set<String> mappingThreads = ConcurrentHashMap.newKeySet();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (Stream<String> stream = table.query().orderBy("code").stream(row -> {
+            mappingThreads.add(Thread.currentThread().getName());
+            if (mappingThreads.size() < 2) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            return row.getInt("code") + ": " + row.getString("name");
+        })) {
+            List<String> names = pool.submit(() -> stream.parallel().collect(Collectors.toList())).get();
+            assertThat(names).containsExactlyElementsOf(codes.stream().map(code -> code + ": row " + code).collect(Collectors.toList()));
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(mappingThreads).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    public void shouldFilterStreamWithRowView() {
+        insertTestRow(1001, "A");
+        insertTestRow(1002, "B");
+        insertTestRow(1003, "C");
+        insertTestRow(1004, "D");
+
+        List<String> names = table.query().orderBy("code").stream(DatabaseRowView.mapper())
+                .filter(row -> row.getLong("code") % 2 == 0)
+                .map(row -> row.map(r -> r.getString("name")))
+                .collect(Collectors.toList());
+        assertThat(names).containsExactly("B", "D");
+
+        List<DatabaseRowView> copies = table.query().orderBy("code").stream(DatabaseRowView.mapper())
+                .filter(row -> !row.getString("name").equals("C"))
+                .map(DatabaseRowView::copy)
+                .collect(Collectors.toList());
+        assertThat(copies).extracting(row -> row.getString("name")).containsExactly("A", "B", "D");
+        assertThat(copies).extracting(row -> row.getInt("code")).containsExactly(1001, 1002, 1004);
+    }
+
+    @Test
+    public void shouldReadResultIntoColumns() {
+        int rowCount = 2500;
+        table.bulkInsert(IntStream.range(0, rowCount).boxed().collect(Collectors.toList()))
+                .setField("code", code -> code)
+                .setField("name", code -> code % 2 == 0 ? null : "n" + (code % 3))
+                .execute();
+
+        DatabaseColumns columns = dbContext.select("code", "name").from("database_table_test_table")
+                .orderBy("code").toColumns();
+
+        assertThat(columns.getRowCount()).isEqualTo(rowCount);
+        assertThat(columns.getColumnNames()).containsExactly("CODE", "NAME");
+        assertThat(columns.getLongs("code")).hasSize(rowCount).startsWith(0, 1, 2).endsWith(rowCount - 1);
+        assertThat(Arrays.stream(columns.getDoubles("code")).sum()).isEqualTo(rowCount * (rowCount - 1) / 2.0);
+        assertThat(columns.getDictionary("name")).containsExactly("n1", "n0", "n2");
+        assertThat(columns.getCodes("name")).startsWith(-1, 0, -1, 1, -1, 2);
+        assertThat(columns.getString("name", 7)).isEqualTo("n1");
+        assertThat(columns.getNulls("name").cardinality()).isEqualTo(rowCount / 2);
+        assertThat(columns.isNull("name", 0)).isTrue();
+        assertThat(columns.getString("name", 0)).isNull();
+        assertThatThrownBy(() -> columns.getLongs("name")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(table.where("code", -1).toColumns().getLongs("code")).isEmpty();
+    }
+
+    @Test
+    public void shouldExecuteQueriesAsync() {
+        insertTestRow(1001, "A");
+        insertTestRow(1002, "B");
+        insertTestRow(1003, "B");
+
+        CompletableFuture<List<Long>> codes = table.where("name", "B").orderBy("code").listAsync(dataSource, row -> row.getLong("code"));
+        CompletableFuture<Optional<String>> name = table.where("code", 1001).singleObjectAsync(dataSource, row -> row.getString("name"));
+        CompletableFuture<Integer> count = dbContext.statement("select count(*) as count from database_table_test_table", Arrays.asList())
+                .singleObjectAsync(dataSource, row -> row.getInt("count"))
+                .thenApply(Optional::get);
+        assertThat(codes.join()).containsExactly(1002L, 1003L);
+        assertThat(name.join()).get().isEqualTo("A");
+        assertThat(count.join()).isEqualTo(3);
+
+        assertThat(table.where("name", "B").update().setField("name", "C").executeAsync(dataSource).join()).isEqualTo(2);
+        assertThat(table.where("name", "C").unordered().listLongs("code")).containsExactlyInAnyOrder(1002L, 1003L);
+
+        CompletableFuture<List<Long>> failure = table.where("no_such_column", "B").unordered().listAsync(dataSource, row -> row.getLong("code"));
+        assertThatThrownBy(failure::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(SQLException.class);
+    }
+
+    @Test
+    public void shouldExecuteBatchOfQueries() {
+        insertTestRow(1001, "A");
+        insertTestRow(1002, "B");
+        insertTestRow(1003, "B");
+
+        DbContextQueryBatch batch = dbContext.batchQueries();
+        DatabaseQueryBatch.Result<Long> codes = batch.add(table.where("name", "B").orderBy("code"), row -> row.getLong("code"));
+        DatabaseQueryBatch.Result<String> name = batch.add(table.where("code", 1001), row -> row.getString("name"));
+        DatabaseQueryBatch.Result<Integer> count = batch.add(
+                dbContext.select("count(*) as count").from("database_table_test_table").where("name", "B"),
+                row -> row.getInt("count")
+        );
+        assertThatThrownBy(codes::get).isInstanceOf(IllegalStateException.class);
+        batch.execute();
+
+        assertThat(codes.get()).containsExactly(1002L, 1003L);
+        assertThat(name.single()).get().isEqualTo("A");
+        assertThat(count.single()).get().isEqualTo(2);
+    }
+
+    @Test
+    public void shouldExecuteBatchAsOneStatementWithMultipleResults() {
+        insertTestRow(1001, "A");
+        insertTestRow(1002, "B");
+        insertTestRow(1003, "B");
+
+        List<String> statements = new ArrayList<>();
+        DatabaseStatementFactory factory = new DatabaseStatementFactory(DatabaseReporter.LOGGING_REPORTER) {
+            @Override
+            public DatabaseStatement newStatement(String tableName, String operation, String sql, List<Object> parameters) {
+                statements.add(sql);
+                return super.newStatement(tableName, operation, sql, parameters);
+            }
+        };
+        DatabaseQueryBatch batch = new DatabaseQueryBatch(factory) {
+            @Override
+            protected boolean supportsMultipleResults(Connection connection) {
+                return true;
+            }
+        };
+        Connection connection = dbContext.getThreadConnection();
+        DatabaseQueryBatch.Result<Long> codes = batch.add(table.where("name", "B").orderBy("code").createSelect(connection), row -> row.getLong("code"));
+        DatabaseQueryBatch.Result<String> name = batch.add(table.where("code", 1001).createSelect(connection), row -> row.getString("name"));
+        batch.execute(withMultipleResults(connection));
+
+        assertThat(codes.get()).containsExactly(1002L, 1003L);
+        assertThat(name.single()).get().isEqualTo("A");
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0)).contains(";");
+    }
+
+    /**
+     * H2 only returns the result of the first statement of a prepared statement with several statements
+     * separated by <code>;</code>. The returned connection prepares each statement separately and returns
+     * their results with {@link java.sql.PreparedStatement#getMoreResults()}, like PostgreSQL and SQL Server
+     */
+    private static Connection withMultipleResults(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                DbContextTest.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement") && args.length == 1 && args[0].toString().contains(";\n")) {
+                        return multipleResultsStatement(connection, args[0].toString().split(";\n"));
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+        );
+    }
+
+    private static PreparedStatement multipleResultsStatement(Connection connection, String[] statements) throws SQLException {
+        List<PreparedStatement> parts = new ArrayList<>();
+        List<Integer> firstParameters = new ArrayList<>();
+        int parameterCount = 0;
+        for (String statement : statements) {
+            parts.add(connection.prepareStatement(statement));
+            firstParameters.add(parameterCount + 1);
+            parameterCount += statement.chars().filter(c -> c == '?').count();
+        }
+        AtomicInteger current = new AtomicInteger();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                DbContextTest.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    try {
+                        if (method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                            int index = (Integer) args[0];
+                            int part = parts.size() - 1;
+                            while (firstParameters.get(part) > index) {
+                                part--;
+                            }
+                            Object[] partArgs = args.clone();
+                            partArgs[0] = index - firstParameters.get(part) + 1;
+                            return method.invoke(parts.get(part), partArgs);
+                        }
+                        switch (method.getName()) {
+                            case "execute":
+                                current.set(0);
+                                return parts.get(0).execute();
+                            case "getMoreResults":
+                                return current.incrementAndGet() < parts.size() && parts.get(current.get()).execute();
+                            case "getUpdateCount":
+                                return current.get() < parts.size() ? parts.get(current.get()).getUpdateCount() : -1;
+                            case "close":
+                                for (PreparedStatement part : parts) {
+                                    part.close();
+                                }
+                                return null;
+                            default:
+                                return method.invoke(parts.get(Math.min(current.get(), parts.size() - 1)), args);
+                        }
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+        );
+    }
+
+    @Test
+    public void shouldExecuteBatchOfPaginatedQueries() {
+        assumeLimitSupported();
+        insertTestRow(1001, "A");
+        insertTestRow(1002, "B");
+        insertTestRow(1003, "B");
+
+        DbContextQueryBatch batch = dbContext.batchQueries();
+        DatabaseQueryBatch.Result<Long> codes = batch.add(table.query().orderBy("code").skipAndLimit(1, 1), row -> row.getLong("code"));
+        DatabaseQueryBatch.Result<Long> selected = batch.add(
+                dbContext.select("code").from("database_table_test_table").where("name", "B").orderBy("code").skipAndLimit(1, 5),
+                row -> row.getLong("code")
+        );
+        batch.execute();
+
+        assertThat(codes.get()).containsExactly(1002L);
+        assertThat(selected.get()).containsExactly(1003L);
+    }
+
+    @Test
+    public void shouldSelectWithLargeKeySet() {
+        insertTestRow(1001, "A");
+        insertTestRow(1002, "B");
+        insertTestRow(1003, "C");
+        List<Integer> codes = IntStream.rangeClosed(1002, 6000).boxed().collect(Collectors.toList());
+
+        assertThat(table.query().whereInLarge("code", codes).orderBy("code").listStrings("name"))
+                .containsExactly("B", "C");
+        assertThat(table.query().whereInLarge("code", codes).whereInLarge("name", Arrays.asList("A", "C")).unordered().listStrings("name"))
+                .containsExactly("C");
+        assertThat(table.query().whereInLarge("code", codes.subList(0, 2)).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldKeepLargeKeySetsOfSimultaneousQueriesSeparate() {
+        for (int code = 1; code <= 6; code++) {
+            insertTestRow(code, "row " + code);
+        }
+        DbContextSelectBuilder first = table.query()
+                .whereInLarge("code", IntStream.rangeClosed(1, 1500).boxed().collect(Collectors.toList()));
+        DbContextSelectBuilder second = table.query()
+                .whereInLarge("code", IntStream.rangeClosed(5, 1600).boxed().collect(Collectors.toList()));
+
+        assertThat(first.orderBy("code").listLongs("code")).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(second.orderBy("code").listLongs("code")).containsExactly(5L, 6L);
+    }
+
+    @Test
+    public void shouldSelectOnlySpecifiedColumns() {
+        insertTestRow(1001, "A");
+
+        assertThat(table.where("code", 1001).columns("id", "name").list(row -> row.getColumnIndexes().keySet()))
+                .containsExactly(new HashSet<>(Arrays.asList("ID", "NAME")));
+        assertThatThrownBy(() -> table.where("code", 1001).columns("name").list(row -> row.getInt("code")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{code}");
+    }
+
+    @Test
+    public void shouldNarrowColumnsToColumnsReadByMapper() {
+        insertTestRow(1001, "A");
+        AtomicBoolean readCode = new AtomicBoolean(false);
+        List<Set<String>> selectedColumns = new ArrayList<>();
+        DatabaseResult.RowMapper<String> mapper = row -> {
+            selectedColumns.add(new HashSet<>(row.getColumnIndexes().keySet()));
+            return row.getString("name") + (readCode.get() ? row.getInt("code") : "");
+        };
+
+        assertThat(table.where("code", 1001).narrowColumns().list(mapper)).containsExactly("A");
+        assertThat(table.where("code", 1001).narrowColumns().list(mapper)).containsExactly("A");
+        readCode.set(true);
+        assertThat(table.where("code", 1001).narrowColumns().singleObject(mapper)).get().isEqualTo("A1001");
+        assertThat(table.where("code", 1001).narrowColumns().singleObject(mapper)).get().isEqualTo("A1001");
+
+        assertThat(selectedColumns.get(1)).contains("NAME").doesNotContain("ID", "DATA", "DOCUMENT");
+        assertThat(selectedColumns.get(selectedColumns.size() - 1)).containsExactlyInAnyOrder("NAME", "CODE");
+    }
+
+    @Test
+    public void shouldNotNarrowColumnsToMissingColumns() {
+        insertTestRow(1002, "B");
+        List<Set<String>> selectedColumns = new ArrayList<>();
+        DatabaseResult.RowMapper<String> mapper = row -> {
+            selectedColumns.add(new HashSet<>(row.getColumnIndexes().keySet()));
+            try {
+                return row.getString("nickname");
+            } catch (IllegalArgumentException e) {
+                return row.getString("name");
+            }
+        };
+
+        assertThat(table.where("code", 1002).narrowColumns().list(mapper)).containsExactly("B");
+        assertThat(table.where("code", 1002).narrowColumns().list(mapper)).containsExactly("B");
+        assertThat(selectedColumns.get(selectedColumns.size() - 1)).containsExactly("NAME");
+    }
+
+    @Test
+    public void shouldNarrowColumnsSeparatelyForEachSchema() throws SQLException {
+        Assume.assumeFalse("SQLite does not support schemas", getDatabaseProductName(dbContext.getThreadConnection()).equals("SQLite"));
+        try (Connection connection = dataSource.getConnection()) {
+            dropTableIfExists(connection, "dbtest_narrow_one.dbtest_narrowed");
+            dropTableIfExists(connection, "dbtest_narrow_two.dbtest_narrowed");
+            createTable(connection, "create schema if not exists dbtest_narrow_one", replacements);
+            createTable(connection, "create schema if not exists dbtest_narrow_two", replacements);
+            createTable(connection, "create table dbtest_narrow_one.dbtest_narrowed (id integer not null, name varchar(50), nickname varchar(50))", replacements);
+            createTable(connection, "create table dbtest_narrow_two.dbtest_narrowed (id integer not null, name varchar(50))", replacements);
+            createTable(connection, "insert into dbtest_narrow_one.dbtest_narrowed (id, name, nickname) values (1, 'one', 'first')", replacements);
+            createTable(connection, "insert into dbtest_narrow_two.dbtest_narrowed (id, name) values (1, 'two')", replacements);
+        }
+        DatabaseResult.RowMapper<String> mapper = row -> {
+            try {
+                return row.getString("nickname");
+            } catch (IllegalArgumentException e) {
+                return row.getString("name");
+            }
+        };
+
+        Connection connection = dbContext.getThreadConnection();
+        String originalSchema = connection.getSchema();
+        try {
+            DbContextTable narrowed = dbContext.table("dbtest_narrowed");
+            connection.setSchema("DBTEST_NARROW_ONE");
+            assertThat(narrowed.where("id", 1).narrowColumns().list(mapper)).containsExactly("first");
+            assertThat(narrowed.where("id", 1).narrowColumns().list(mapper)).containsExactly("first");
+            connection.setSchema("DBTEST_NARROW_TWO");
+            assertThat(narrowed.where("id", 1).narrowColumns().list(mapper)).containsExactly("two");
+        } finally {
+            connection.setSchema(originalSchema);
+        }
+    }
+
+    @Test
+    public void shouldFetchChildrenWithOneQuery() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            dropTableIfExists(connection, "database_table_test_children");
+            createTable(connection, "create table database_table_test_children (id ${INTEGER_PK}, parent_id integer not null, name varchar(50) not null)", replacements);
+        }
+        DbContextTable children = dbContext.table("database_table_test_children");
+        Object parentA = table.insert().setPrimaryKey("id", null).setField("code", 1001).setField("name", "A").execute();
+        Object parentB = table.insert().setPrimaryKey("id", null).setField("code", 1002).setField("name", "B").execute();
+        table.insert().setPrimaryKey("id", null).setField("code", 1003).setField("name", "C").execute();
+        children.insert().setField("parent_id", parentA).setField("name", "A2").execute();
+        children.insert().setField("parent_id", parentB).setField("name", "B1").execute();
+        children.insert().setField("parent_id", parentA).setField("name", "A1").execute();
+
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        List<String> parents = table.whereIn("code", Arrays.asList(1001, 1002, 1003)).orderBy("code")
+                .fetchChildren("id", children, "parent_id", row -> row.getString("name"))
+                .orderChildrenBy("name")
+                .list(row -> row.getString("name"), result::put);
+
+        assertThat(parents).containsExactly("A", "B", "C");
+        assertThat(result).containsEntry("A", Arrays.asList("A1", "A2"))
+                .containsEntry("B", Collections.singletonList("B1"))
+                .containsEntry("C", Collections.emptyList());
+    }
+
     @Test
     public void shouldInsertWithExplicitKey() {
         Object id = table.insert()
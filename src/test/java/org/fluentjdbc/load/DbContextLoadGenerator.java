@@ -0,0 +1,186 @@
+package org.fluentjdbc.load;
+
+import org.fluentjdbc.DbContext;
+import org.fluentjdbc.DbContextConnection;
+import org.fluentjdbc.DbContextTable;
+import org.fluentjdbc.DbTransaction;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the production usage pattern of {@link DbContext} from many threads at the same time: each
+ * unit of work calls {@link DbContext#startConnection}, {@link DbContext#ensureTransaction()}, runs a
+ * few queries and a save and commits. Runs against an embedded H2 database through a
+ * {@link JdbcConnectionPool} with fewer connections than threads, like a production connection pool,
+ * and reports throughput and latency percentiles per operation. Not run as part of the tests.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.fluentjdbc.load.DbContextLoadGenerator -Dexec.args="200 30 20"
+ * </pre>
+ *
+ * Arguments: number of threads (default 100), duration in seconds (default 10) and pool size (default 10).
+ * The connection is only taken from the pool when the transaction starts, so time spent waiting for a
+ * pooled connection is reported under <code>ensureTransaction</code>.
+ */
+public class DbContextLoadGenerator {
+
+    private static final int ROW_COUNT = 1000;
+    private static final int QUERIES_PER_UNIT = 3;
+
+    enum Operation {
+        startConnection, ensureTransaction, query, save, commit, total
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        JdbcConnectionPool pool = JdbcConnectionPool.create("jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        pool.setMaxConnections(poolSize);
+        createTable(pool);
+
+        DbContext dbContext = new DbContext();
+        DbContextTable table = dbContext.table("load_test_entities");
+        try (DbContextConnection ignored = dbContext.startConnection(pool)) {
+            for (long i = 1; i <= ROW_COUNT; i++) {
+                table.insert().setField("id", i).setField("code", (int) (i % 100)).setField("name", "Entity " + i).execute();
+            }
+        }
+
+        System.out.printf("Running %d threads for %d seconds with %d pooled connections%n", threadCount, durationSeconds, poolSize);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Worker worker = new Worker(dbContext, table, pool, start, deadline);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "load-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        pool.dispose();
+
+        report(workers, elapsedSeconds);
+    }
+
+    private static void createTable(JdbcConnectionPool pool) throws SQLException {
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("drop table if exists load_test_entities");
+            statement.executeUpdate("create table load_test_entities (id bigint primary key, code integer not null, name varchar(100))");
+        }
+    }
+
+    private static void report(List<Worker> workers, double elapsedSeconds) {
+        int errors = workers.stream().mapToInt(w -> w.errors).sum();
+        System.out.printf("%-18s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "per sec", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            long[] latencies = workers.stream()
+                    .flatMapToLong(w -> Arrays.stream(w.latencies[operation.ordinal()], 0, w.counts[operation.ordinal()]))
+                    .sorted()
+                    .toArray();
+            if (latencies.length == 0) {
+                continue;
+            }
+            System.out.printf("%-18s %10d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+                    operation, latencies.length, latencies.length / elapsedSeconds,
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                    latencies[latencies.length - 1] / 1_000_000.0);
+        }
+        System.out.println("errors: " + errors);
+    }
+
+    private static double percentile(long[] sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static class Worker implements Runnable {
+        private final DbContext dbContext;
+        private final DbContextTable table;
+        private final JdbcConnectionPool pool;
+        private final CountDownLatch start;
+        private final long deadline;
+
+        private final long[][] latencies = new long[Operation.values().length][1024];
+        private final int[] counts = new int[Operation.values().length];
+        private int errors = 0;
+
+        Worker(DbContext dbContext, DbContextTable table, JdbcConnectionPool pool, CountDownLatch start, long deadline) {
+            this.dbContext = dbContext;
+            this.table = table;
+            this.pool = pool;
+            this.start = start;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            while (System.nanoTime() < deadline) {
+                try {
+                    runUnitOfWork();
+                } catch (RuntimeException e) {
+                    errors++;
+                }
+            }
+        }
+
+        private void runUnitOfWork() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long unitStart = System.nanoTime();
+            long time;
+            try (DbContextConnection ignored = dbContext.startConnection(pool)) {
+                time = record(Operation.startConnection, unitStart);
+                try (DbTransaction transaction = dbContext.ensureTransaction()) {
+                    time = record(Operation.ensureTransaction, time);
+                    for (int i = 0; i < QUERIES_PER_UNIT; i++) {
+                        table.where("code", random.nextInt(100)).list(row -> row.getString("name"));
+                        time = record(Operation.query, time);
+                    }
+                    long id = random.nextLong(ROW_COUNT) + 1;
+                    table.newSaveBuilder("id", id)
+                            .setField("code", (int) (id % 100))
+                            .setField("name", "Entity " + id + " " + random.nextInt())
+                            .execute();
+                    time = record(Operation.save, time);
+                    transaction.setComplete();
+                }
+                record(Operation.commit, time);
+            }
+            record(Operation.total, unitStart);
+        }
+
+        private long record(Operation operation, long startTime) {
+            long now = System.nanoTime();
+            int index = operation.ordinal();
+            if (counts[index] == latencies[index].length) {
+                latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+            }
+            latencies[index][counts[index]++] = now - startTime;
+            return now;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.fluentjdbc.opt.flow;
+
+import org.fluentjdbc.DbContextTable;
+import org.fluentjdbc.h2.H2TestDatabase;
+import org.fluentjdbc.opt.junit.DbContextRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fluentjdbc.AbstractDatabaseTest.createTable;
+import static org.fluentjdbc.AbstractDatabaseTest.dropTableIfExists;
+
+public class DatabaseResultPublisherTest {
+
+    private final DataSource dataSource = H2TestDatabase.createDataSource();
+
+    @Rule
+    public final DbContextRule dbContext = new DbContextRule(dataSource);
+
+    private final DbContextTable table = dbContext.table("publisher_test_table");
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @Before
+    public void setupDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            dropTableIfExists(connection, "publisher_test_table");
+            createTable(connection, "create table publisher_test_table (id ${INTEGER_PK}, name varchar(50) not null)", H2TestDatabase.REPLACEMENTS);
+        }
+        table.bulkInsert(Arrays.asList("a", "b", "c", "d", "e"))
+                .setField("name", name -> name)
+                .execute();
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldDeliverRowsAsRequested() throws InterruptedException {
+        DatabaseResultPublisher<String> publisher = new DatabaseResultPublisher<>(
+                table.query().orderBy("name").createSelect(), row -> row.getString("name"), dataSource, executor
+        );
+        TestSubscriber subscriber = new TestSubscriber(2, Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly("a", "b", "c", "d", "e");
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.error.get()).isNull();
+    }
+
+    @Test
+    public void shouldCloseConnectionOnCancel() throws InterruptedException {
+        AtomicInteger openConnections = new AtomicInteger();
+        DatabaseResultPublisher<String> publisher = new DatabaseResultPublisher<>(
+                table.query().orderBy("name").createSelect(), row -> row.getString("name"), trackConnections(openConnections), executor
+        );
+        TestSubscriber subscriber = new TestSubscriber(1, 1);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completed).isFalse();
+        assertThat(openConnections.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldSignalErrorOnNonPositiveRequest() throws InterruptedException {
+        DatabaseResultPublisher<String> publisher = new DatabaseResultPublisher<>(
+                table.query().createSelect(), row -> row.getString("name"), dataSource, executor
+        );
+        TestSubscriber subscriber = new TestSubscriber(0, Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error.get()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(subscriber.items).isEmpty();
+    }
+
+    private DataSource trackConnections(AtomicInteger openConnections) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{DataSource.class}, (proxy, method, args) -> {
+            Object result = invoke(method, dataSource, args);
+            if (!method.getName().equals("getConnection")) {
+                return result;
+            }
+            openConnections.incrementAndGet();
+            Connection connection = (Connection) result;
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (p, m, a) -> {
+                if (m.getName().equals("close")) {
+                    openConnections.decrementAndGet();
+                }
+                return invoke(m, connection, a);
+            });
+        });
+    }
+
+    private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Requests batchSize items at a time and cancels after cancelAfter items
+     */
+    private static class TestSubscriber implements Flow.Subscriber<String> {
+        private final long batchSize;
+        private final long cancelAfter;
+        private final List<String> items = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean completed = false;
+        private Flow.Subscription subscription;
+        private long remainingInBatch;
+
+        private TestSubscriber(long batchSize, long cancelAfter) {
+            this.batchSize = batchSize;
+            this.cancelAfter = cancelAfter;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            remainingInBatch = batchSize;
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(String item) {
+            items.add(item);
+            if (items.size() >= cancelAfter) {
+                subscription.cancel();
+                done.countDown();
+            } else if (--remainingInBatch == 0) {
+                remainingInBatch = batchSize;
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+}
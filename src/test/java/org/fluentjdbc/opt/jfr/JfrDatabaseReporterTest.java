@@ -0,0 +1,78 @@
+package org.fluentjdbc.opt.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.fluentjdbc.DatabaseStatementFactory;
+import org.fluentjdbc.DbContextTable;
+import org.fluentjdbc.h2.H2TestDatabase;
+import org.fluentjdbc.opt.junit.DbContextRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fluentjdbc.AbstractDatabaseTest.createTable;
+import static org.fluentjdbc.AbstractDatabaseTest.dropTableIfExists;
+
+public class JfrDatabaseReporterTest {
+
+    private final DataSource dataSource = H2TestDatabase.createDataSource();
+
+    @Rule
+    public final DbContextRule dbContext = new DbContextRule(dataSource, new DatabaseStatementFactory(new JfrDatabaseReporter()));
+
+    private final DbContextTable table = dbContext.table("jfr_test_table");
+
+    @Before
+    public void setupDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            dropTableIfExists(connection, "jfr_test_table");
+            createTable(connection, "create table jfr_test_table (id ${INTEGER_PK}, code integer not null, name varchar(50) null)", H2TestDatabase.REPLACEMENTS);
+        }
+    }
+
+    @Test
+    public void shouldRecordStatementEvents() throws IOException {
+        Path file = Files.createTempFile("fluent-jdbc", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DatabaseStatementEvent.NAME);
+            recording.start();
+            table.bulkInsert(Arrays.asList("a", "b", "c"))
+                    .setField("code", String::length)
+                    .setField("name", name -> name)
+                    .execute();
+            assertThat(table.where("code", 1).unordered().listStrings("name")).hasSize(3);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(DatabaseStatementEvent.NAME))
+                .collect(Collectors.toList());
+        Files.delete(file);
+
+        assertThat(events).extracting(e -> e.getString("operation")).containsExactly("BULK_INSERT", "SELECT");
+        RecordedEvent bulkInsert = events.get(0);
+        assertThat(bulkInsert.getString("table")).isEqualTo("jfr_test_table");
+        assertThat(bulkInsert.getInt("batchSize")).isEqualTo(3);
+        assertThat(bulkInsert.getInt("parameterCount")).isEqualTo(2);
+        assertThat(bulkInsert.getLong("rows")).isEqualTo(3);
+        RecordedEvent select = events.get(1);
+        assertThat(select.getString("sql")).contains("jfr_test_table");
+        assertThat(select.getInt("parameterCount")).isEqualTo(1);
+        assertThat(select.getLong("rows")).isEqualTo(3);
+        assertThat(select.getDuration("totalTime")).isPositive();
+        assertThat(select.getDuration()).isPositive();
+    }
+}
@@ -0,0 +1,66 @@
+package org.fluentjdbc.opt.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import org.fluentjdbc.DatabaseSaveResult;
+import org.fluentjdbc.DatabaseStatementFactory;
+import org.fluentjdbc.DbContextTable;
+import org.fluentjdbc.h2.H2TestDatabase;
+import org.fluentjdbc.opt.junit.DbContextRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.fluentjdbc.AbstractDatabaseTest.createTable;
+import static org.fluentjdbc.AbstractDatabaseTest.dropTableIfExists;
+
+public class MetricsDatabaseReporterTest {
+
+    private final DataSource dataSource = H2TestDatabase.createDataSource();
+
+    private final MetricRegistry registry = new MetricRegistry();
+
+    @Rule
+    public final DbContextRule dbContext = new DbContextRule(dataSource, new DatabaseStatementFactory(new MetricsDatabaseReporter(registry, "db")));
+
+    private final DbContextTable table = dbContext.table("metrics_test_table");
+
+    @Before
+    public void setupDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            dropTableIfExists(connection, "metrics_test_table");
+            createTable(connection, "create table metrics_test_table (id ${INTEGER_PK}, code integer not null, name varchar(50) null)", H2TestDatabase.REPLACEMENTS);
+        }
+    }
+
+    @Test
+    public void shouldRecordTimingAndRowsPerOperation() {
+        table.bulkInsert(Arrays.asList("a", "b", "c", "d"))
+                .setField("code", String::length)
+                .setField("name", name -> name)
+                .execute();
+        assertThat(table.where("code", 1).unordered().listStrings("name")).hasSize(4);
+
+        assertThat(registry.timer("db.metrics_test_table.BULK_INSERT.time").getCount()).isEqualTo(1);
+        assertThat(registry.histogram("db.metrics_test_table.BULK_INSERT.batchSize").getSnapshot().getMax()).isEqualTo(4);
+        assertThat(registry.timer("db.metrics_test_table.SELECT.time").getCount()).isEqualTo(1);
+        assertThat(registry.histogram("db.metrics_test_table.SELECT.rows").getSnapshot().getMax()).isEqualTo(4);
+        assertThat(registry.getNames()).doesNotContain("db.metrics_test_table.SELECT.batchSize");
+    }
+
+    @Test
+    public void shouldCountSaveResults() {
+        DatabaseSaveResult<Long> result = table.newSaveBuilder("id", null).uniqueKey("code", 10).setField("name", "first").execute();
+        table.newSaveBuilder("id", result.getId()).setField("code", 10).setField("name", "first").execute();
+        table.newSaveBuilder("id", result.getId()).setField("code", 10).setField("name", "second").execute();
+
+        assertThat(registry.counter("db.metrics_test_table.SAVE.INSERTED").getCount()).isEqualTo(1);
+        assertThat(registry.counter("db.metrics_test_table.SAVE.UNCHANGED").getCount()).isEqualTo(1);
+        assertThat(registry.counter("db.metrics_test_table.SAVE.UPDATED").getCount()).isEqualTo(1);
+    }
+}
@@ -1,14 +1,20 @@
 package org.fluentjdbc.sqlite;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.fluentjdbc.DatabaseSaveResult;
+import org.fluentjdbc.DbContextTable;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.sqlite.SQLiteDataSource;
@@ -85,7 +91,6 @@ public class SqliteTests {
     public static class DbContextTest extends org.fluentjdbc.DbContextTest {
         public DbContextTest() {
             super(getDataSource(), REPLACEMENTS);
-            limitNotSupported();
             largeObjectsNotSupported();
         }
 
@@ -95,12 +100,37 @@ public class SqliteTests {
         public void shouldSeparateConnectionPerDbContext() {
             super.shouldSeparateConnectionPerDbContext();
         }
+
+        @Test
+        public void shouldReuseTemporaryTablesForLargeKeySets() throws SQLException {
+            DbContextTable table = dbContext.table("database_table_test_table");
+            table.insert().setField("code", 1).setField("name", "one").execute();
+            List<Object> keys = new ArrayList<>();
+            keys.add(1);
+            for (long key = 2; key <= 1500; key++) {
+                keys.add(key);
+            }
+            for (int i = 0; i < 40; i++) {
+                assertThat(table.query().whereInLarge("code", keys).listStrings("name")).containsExactly("one");
+            }
+
+            try (Statement statement = dbContext.getThreadConnection().createStatement();
+                 ResultSet resultSet = statement.executeQuery("select count(*) from sqlite_temp_master where type = 'table'")) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getInt(1)).isBetween(1, 16);
+            }
+        }
     }
 
     public static class DbContextJoinedQueryBuilderTest extends org.fluentjdbc.DbContextJoinedQueryBuilderTest {
         public DbContextJoinedQueryBuilderTest() {
             super(getDataSource(), REPLACEMENTS);
-            limitNotSupported();
+        }
+    }
+
+    public static class DatabaseReporterTest extends org.fluentjdbc.DatabaseReporterTest {
+        public DatabaseReporterTest() {
+            super(getDataSource(), REPLACEMENTS);
         }
     }
 